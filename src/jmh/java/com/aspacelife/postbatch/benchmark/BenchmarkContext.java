@@ -0,0 +1,65 @@
+package com.aspacelife.postbatch.benchmark;
+
+import com.aspacelife.postbatch.PostBatchApplication;
+import com.aspacelife.postbatch.model.Post;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Boots the application without a web server against a throwaway SQLite file, so suites
+ * measure the real beans with the production configuration minus logging noise.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {}
+
+    static Path tempDatabase() throws IOException {
+        return Files.createTempDirectory("postbatch-bench").resolve("posts.db");
+    }
+
+    static ConfigurableApplicationContext start(Path databaseFile, String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:sqlite:" + databaseFile.toAbsolutePath(),
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.aspacelife.postbatch=WARN",
+                "--logging.level.org.hibernate.SQL=WARN"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(PostBatchApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+
+    static void stop(ConfigurableApplicationContext context, Path databaseFile) throws IOException {
+        if (context != null) context.close();
+        try (Stream<Path> files = Files.walk(databaseFile.getParent())) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    static List<Post> syntheticPosts(int count, int firstExternalId) {
+        List<Post> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Post post = new Post();
+            post.setUserId(1 + i % 10);
+            post.setTitle("Synthetic post title " + (firstExternalId + i));
+            post.setBody("Synthetic body for benchmarking the ingest and pagination paths. ".repeat(4));
+            post.setExternalId(firstExternalId + i);
+            posts.add(post);
+        }
+        return posts;
+    }
+}
@@ -0,0 +1,113 @@
+package com.aspacelife.postbatch.benchmark;
+
+import com.aspacelife.postbatch.config.ConflictPolicy;
+import com.aspacelife.postbatch.dto.response.PageResponse;
+import com.aspacelife.postbatch.dto.response.PostView;
+import com.aspacelife.postbatch.model.Post;
+import com.aspacelife.postbatch.repository.PostRepository;
+import com.aspacelife.postbatch.service.PostService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plain against compressed body storage on a table of a million posts. Bodies are drawn from a
+ * fixed vocabulary so they compress about as well as prose, and the compression threshold sits
+ * below the shortest body so every body is a candidate. The file size after a checkpoint and the
+ * number of compressed bodies are printed once the table is seeded, and the benchmarks measure
+ * the view pages /fetch_record serves, with bodies and, as the floor, without.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BodyStorageBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final int SEED_CHUNK = 10_000;
+    private static final int PAGE = 100;
+    private static final int PAGE_SIZE = 20;
+    private static final int MIN_COMPRESSED_LENGTH = 64;
+    private static final String[] WORDS = ("sunt aut facere repellat provident occaecati excepturi optio reprehenderit " +
+            "quia et suscipit recusandae consequuntur expedita cum nostrum rerum est autem sint nihil molestiae " +
+            "ut quas totam qui neque nisi dolorem eveniet architecto voluptatem accusamus odio fugiat blanditiis " +
+            "ea dolor beatae vel labore sequi magnam ullam voluptas velit ad iure quo error laborum").split(" ");
+
+    @Param({"false", "true"})
+    private boolean compression;
+
+    @Param({"200", "2000"})
+    private int bodyLength;
+
+    private Path databaseFile;
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        databaseFile = BenchmarkContext.tempDatabase();
+        context = BenchmarkContext.start(databaseFile, "cache.posts.enabled=false",
+                "storage.body.compression.enabled=" + compression,
+                "storage.body.compression.min-length=" + MIN_COMPRESSED_LENGTH);
+        PostRepository postRepository = context.getBean(PostRepository.class);
+        Random random = new Random(42);
+        for (int first = 1; first <= ROWS; first += SEED_CHUNK) {
+            List<Post> posts = BenchmarkContext.syntheticPosts(Math.min(SEED_CHUNK, ROWS - first + 1), first);
+            posts.forEach(post -> post.setBody(prose(random)));
+            postRepository.bulkInsert(posts, ConflictPolicy.FAIL);
+        }
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Long compressed = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts WHERE typeof(body) = 'blob'", Long.class);
+        if (compression && (compressed == null || compressed == 0)) {
+            throw new IllegalStateException("Compression is on but no body was stored compressed");
+        }
+        jdbcTemplate.execute("PRAGMA wal_checkpoint(TRUNCATE)");
+        System.out.printf("%n%d posts, %d-char bodies, compression %s (%d stored compressed): %d MiB%n",
+                ROWS, bodyLength, compression ? "on" : "off", compressed, Files.size(databaseFile) / (1024 * 1024));
+        postService = context.getBean(PostService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        BenchmarkContext.stop(context, databaseFile);
+    }
+
+    @Benchmark
+    public PageResponse<PostView> viewPageWithBody() {
+        return postService.fetchRecordViews(PAGE, PAGE_SIZE, true);
+    }
+
+    @Benchmark
+    public PageResponse<PostView> viewPageWithoutBody() {
+        return postService.fetchRecordViews(PAGE, PAGE_SIZE, false);
+    }
+
+    private String prose(Random random) {
+        StringBuilder body = new StringBuilder(bodyLength + 16);
+        while (body.length() < bodyLength) {
+            body.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(12) == 0 ? ".\n" : " ");
+        }
+        return body.substring(0, bodyLength);
+    }
+}
@@ -0,0 +1,80 @@
+package com.aspacelife.postbatch.benchmark;
+
+import com.aspacelife.postbatch.config.ConflictPolicy;
+import com.aspacelife.postbatch.dto.response.ImportResult;
+import com.aspacelife.postbatch.service.PostImportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Eight callers importing small batches of new posts at once, with the writer thread grouping
+ * their flushes into shared commits and with every flush committed on its caller's thread, to
+ * show what group commit buys under concurrent writes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class ConcurrentWriteBenchmark {
+
+    @Param({"true", "false"})
+    private boolean groupCommit;
+
+    @Param({"10", "100"})
+    private int batchSize;
+
+    private final AtomicInteger nextId = new AtomicInteger(1);
+    private Path databaseFile;
+    private ConfigurableApplicationContext context;
+    private PostImportService postImportService;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        databaseFile = BenchmarkContext.tempDatabase();
+        context = BenchmarkContext.start(databaseFile,
+                "batch.write.group.enabled=" + groupCommit,
+                "import.chunk-size=" + batchSize);
+        postImportService = context.getBean(PostImportService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        BenchmarkContext.stop(context, databaseFile);
+    }
+
+    @Benchmark
+    public ImportResult importBatch() throws IOException {
+        int first = nextId.getAndAdd(batchSize);
+        StringBuilder ndjson = new StringBuilder(batchSize * 96);
+        for (int id = first; id < first + batchSize; id++) {
+            ndjson.append("{\"userId\":1,\"id\":").append(id)
+                  .append(",\"title\":\"Concurrent post ").append(id)
+                  .append("\",\"body\":\"Written by one of several concurrent importers\"}\n");
+        }
+        return postImportService.importPosts(
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), ConflictPolicy.FAIL);
+    }
+}
@@ -0,0 +1,108 @@
+package com.aspacelife.postbatch.benchmark;
+
+import com.aspacelife.postbatch.config.ConflictPolicy;
+import com.aspacelife.postbatch.dto.response.CursorPageResponse;
+import com.aspacelife.postbatch.dto.response.PageResponse;
+import com.aspacelife.postbatch.dto.response.PostView;
+import com.aspacelife.postbatch.model.Post;
+import com.aspacelife.postbatch.repository.PostRepository;
+import com.aspacelife.postbatch.service.PostService;
+import com.aspacelife.postbatch.util.CursorUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Page reads at shallow and deep positions of a seeded table: offset pages as JDBC views, the
+ * path /fetch_record serves, against seek, and against the managed-entity offset page it replaced
+ * as the baseline. The page cache is disabled so every invocation reaches SQLite; run with
+ * -prof gc to compare allocation per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FetchRecordsBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1", "100", "4000"})
+    private int page;
+
+    private Path databaseFile;
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+    private PostRepository postRepository;
+    private TransactionTemplate readOnlyTransaction;
+    private String cursor;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        databaseFile = BenchmarkContext.tempDatabase();
+        context = BenchmarkContext.start(databaseFile, "cache.posts.enabled=false");
+        postRepository = context.getBean(PostRepository.class);
+        postRepository.bulkInsert(BenchmarkContext.syntheticPosts(ROWS, 1), ConflictPolicy.FAIL);
+        postService = context.getBean(PostService.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        // ids run 1..ROWS in a fresh file, so the seek page matching the offset page starts here
+        long firstIdOnPage = ROWS - (long) (page - 1) * PAGE_SIZE;
+        cursor = page == 1 ? null : CursorUtil.encode(firstIdOnPage + 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        BenchmarkContext.stop(context, databaseFile);
+    }
+
+    /**
+     * The entity page /fetch_record served before it moved to views: a JPA page of managed posts
+     */
+    @Benchmark
+    public Page<Post> offsetEntityPage() {
+        return readOnlyTransaction.execute(status -> {
+            Pageable pageable = PageRequest.of(page - 1, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "postId"));
+            return new PageImpl<>(postRepository.findAllBy(pageable), pageable, postRepository.countPosts());
+        });
+    }
+
+    @Benchmark
+    public PageResponse<PostView> offsetViewPage() {
+        return postService.fetchRecordViews(page, PAGE_SIZE, true);
+    }
+
+    @Benchmark
+    public PageResponse<PostView> offsetViewPageWithoutBody() {
+        return postService.fetchRecordViews(page, PAGE_SIZE, false);
+    }
+
+    @Benchmark
+    public CursorPageResponse<Post> seekPage() {
+        return postService.fetchRecordsAfter(cursor, PAGE_SIZE, false);
+    }
+}
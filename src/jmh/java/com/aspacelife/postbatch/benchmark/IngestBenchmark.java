@@ -0,0 +1,82 @@
+package com.aspacelife.postbatch.benchmark;
+
+import com.aspacelife.postbatch.dto.response.BatchInsertResult;
+import com.aspacelife.postbatch.service.PostService;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * End-to-end batch insert against a local WireMock stub that echoes the requested id, per
+ * execution mode. Re-runs upsert the same range, so every invocation does the same work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IngestBenchmark {
+
+    @Param({"reactive", "virtual-threads", "platform-threads"})
+    private String executionMode;
+
+    @Param({"100", "1000"})
+    private int postNumber;
+
+    private WireMockServer upstream;
+    private Path databaseFile;
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        upstream = new WireMockServer(options().dynamicPort());
+        upstream.start();
+        upstream.stubFor(get(urlPathMatching("/posts/[0-9]+"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"userId\":1,\"id\":{{request.pathSegments.[1]}},\"title\":\"Stub title\",\"body\":\"Stub body\"}")
+                        .withTransformers("response-template")
+                        .withStatus(200)));
+
+        databaseFile = BenchmarkContext.tempDatabase();
+        context = BenchmarkContext.start(databaseFile,
+                "api.base.url=http://localhost:" + upstream.port(),
+                "batch.execution.mode=" + executionMode,
+                "batch.ingest.on-conflict=update");
+        postService = context.getBean(PostService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        BenchmarkContext.stop(context, databaseFile);
+        upstream.stop();
+    }
+
+    @Benchmark
+    public BatchInsertResult batchInsert() {
+        return postService.batchInsertPosts(postNumber).join();
+    }
+}
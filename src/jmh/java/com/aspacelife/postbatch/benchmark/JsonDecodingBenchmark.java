@@ -0,0 +1,60 @@
+package com.aspacelife.postbatch.benchmark;
+
+import com.aspacelife.postbatch.dto.response.PostApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding upstream payloads with an ObjectMapper configured the way Spring configures WebClient's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonDecodingBenchmark {
+
+    private static final String POST_JSON = "{\"userId\":1,\"id\":%d,\"title\":\"sunt aut facere repellat provident\"," +
+            "\"body\":\"quia et suscipit\\nsuscipit recusandae consequuntur expedita et cum\"}";
+
+    private ObjectMapper objectMapper;
+    private byte[] singlePost;
+    private byte[] hundredPosts;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        singlePost = String.format(POST_JSON, 1).getBytes(StandardCharsets.UTF_8);
+        StringJoiner array = new StringJoiner(",", "[", "]");
+        for (int id = 1; id <= 100; id++) {
+            array.add(String.format(POST_JSON, id));
+        }
+        hundredPosts = array.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public PostApiResponse decodeSingle() throws IOException {
+        return objectMapper.readValue(singlePost, PostApiResponse.class);
+    }
+
+    @Benchmark
+    public PostApiResponse[] decodeArrayOfHundred() throws IOException {
+        return objectMapper.readValue(hundredPosts, PostApiResponse[].class);
+    }
+}
@@ -0,0 +1,54 @@
+package com.aspacelife.postbatch.benchmark;
+
+import com.aspacelife.postbatch.config.MapperConfig;
+import com.aspacelife.postbatch.dto.response.PostApiResponse;
+import com.aspacelife.postbatch.mapper.DirectPostMapper;
+import com.aspacelife.postbatch.mapper.ModelMapperPostMapper;
+import com.aspacelife.postbatch.mapper.PostMapper;
+import com.aspacelife.postbatch.model.Post;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-post cost of converting an upstream response into an entity, reflective ModelMapper
+ * against the hand-written mapper. Run with {@code -prof gc} to compare allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private PostMapper modelMapper;
+    private PostMapper directMapper;
+    private PostApiResponse response;
+
+    @Setup
+    public void setup() {
+        modelMapper = new ModelMapperPostMapper(new MapperConfig().modelMapper());
+        directMapper = new DirectPostMapper();
+        response = new PostApiResponse(42, 7, "sunt aut facere repellat provident", "quia et suscipit suscipit recusandae");
+    }
+
+    @Benchmark
+    public Post modelMapper() {
+        return modelMapper.toPost(response);
+    }
+
+    @Benchmark
+    public Post direct() {
+        return directMapper.toPost(response);
+    }
+}
@@ -0,0 +1,73 @@
+package com.aspacelife.postbatch.benchmark;
+
+import com.aspacelife.postbatch.config.ConflictPolicy;
+import com.aspacelife.postbatch.model.Post;
+import com.aspacelife.postbatch.repository.PostRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JPA saveAll against the multi-row bulk insert, writing fresh rows into a temp SQLite file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceBenchmark {
+
+    @Param({"100", "1000"})
+    private int batchSize;
+
+    private Path databaseFile;
+    private ConfigurableApplicationContext context;
+    private PostRepository postRepository;
+    private int nextExternalId = 1;
+    private List<Post> batch;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        databaseFile = BenchmarkContext.tempDatabase();
+        context = BenchmarkContext.start(databaseFile);
+        postRepository = context.getBean(PostRepository.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareBatch() {
+        batch = BenchmarkContext.syntheticPosts(batchSize, nextExternalId);
+        nextExternalId += batchSize;
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        BenchmarkContext.stop(context, databaseFile);
+    }
+
+    @Benchmark
+    public int saveAll() {
+        return postRepository.saveAll(batch).size();
+    }
+
+    @Benchmark
+    public int bulkInsert() {
+        return postRepository.bulkInsert(batch, ConflictPolicy.FAIL);
+    }
+}
@@ -0,0 +1,74 @@
+package com.aspacelife.postbatch.cache;
+
+import com.aspacelife.postbatch.model.Post;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory bitmap of every {@code external_id} stored in the posts table, loaded once at
+ * startup and extended as batches are persisted. Lets the ingest path skip network calls
+ * for posts it already has.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class ExternalIdIndex {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BitSet knownIds = new BitSet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            knownIds.clear();
+            jdbcTemplate.query("SELECT external_id FROM posts WHERE external_id > 0",
+                    rs -> { knownIds.set(rs.getInt(1)); });
+            log.info("Loaded {} known external ids", knownIds.cardinality());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(int externalId) {
+        if (externalId <= 0) return false;
+        lock.readLock().lock();
+        try {
+            return knownIds.get(externalId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void addAll(Collection<Post> posts) {
+        lock.writeLock().lock();
+        try {
+            posts.stream()
+                 .map(Post::getExternalId)
+                 .filter(id -> id != null && id > 0)
+                 .forEach(knownIds::set);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return knownIds.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.aspacelife.postbatch.cache;
+
+import com.aspacelife.postbatch.dto.response.PageResponse;
+import com.aspacelife.postbatch.dto.response.PostView;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded, TTL-expiring cache of offset pages. Keys carry a generation that is bumped
+ * whenever posts are written, so pages cached before a write are never served again and
+ * simply age out; a load racing with a write can only populate an already-stale key.
+ */
+@Component
+@Slf4j
+public class PostPageCache {
+
+    private final boolean enabled;
+    private final AtomicLong generation = new AtomicLong();
+    private final Cache<PageKey, PageResponse<PostView>> pages;
+
+    public PostPageCache(@Value("${cache.posts.enabled:true}") boolean enabled,
+                         @Value("${cache.posts.max-size:1000}") long maxSize,
+                         @Value("${cache.posts.ttl-seconds:60}") long ttlSeconds,
+                         MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.pages = Caffeine.newBuilder()
+                             .maximumSize(maxSize)
+                             .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                             .recordStats()
+                             .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "posts.page");
+        meterRegistry.gauge("posts.page.cache.generation", generation);
+    }
+
+    public PageResponse<PostView> get(int page, int size, boolean includeBody, Supplier<PageResponse<PostView>> loader) {
+        if (!enabled) return loader.get();
+        return pages.get(new PageKey(generation.get(), page, size, includeBody), key -> loader.get());
+    }
+
+    public void invalidate() {
+        long current = generation.incrementAndGet();
+        log.debug("Post page cache moved to generation {}", current);
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = pages.stats();
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("enabled", enabled);
+        response.put("generation", generation.get());
+        response.put("size", pages.estimatedSize());
+        response.put("hitCount", stats.hitCount());
+        response.put("missCount", stats.missCount());
+        response.put("hitRate", stats.hitRate());
+        response.put("evictionCount", stats.evictionCount());
+        return response;
+    }
+
+    private record PageKey(long generation, int page, int size, boolean includeBody) {}
+}
@@ -0,0 +1,80 @@
+package com.aspacelife.postbatch.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Token bucket in front of the upstream API whose refill rate adapts to how the upstream
+ * responds: additive increase while calls succeed quickly, gentle decrease when latency rises
+ * above the target, and halving on 429/5xx. Waiting for a token is a timer, never a parked thread.
+ */
+@Component
+@Slf4j
+public class AdaptiveRateLimiter {
+
+    private final boolean enabled;
+    private final double minRate;
+    private final double maxRate;
+    private final double increaseStep;
+    private final double burst;
+    private final long latencyTargetNanos;
+
+    private double rate;
+    private long nextFreeNanos = System.nanoTime();
+
+    public AdaptiveRateLimiter(@Value("${api.client.rate-limit.enabled:true}") boolean enabled,
+                               @Value("${api.client.rate-limit.initial-per-second:50}") double initialRate,
+                               @Value("${api.client.rate-limit.min-per-second:1}") double minRate,
+                               @Value("${api.client.rate-limit.max-per-second:1000}") double maxRate,
+                               @Value("${api.client.rate-limit.increase-step:5}") double increaseStep,
+                               @Value("${api.client.rate-limit.burst:20}") double burst,
+                               @Value("${api.client.rate-limit.latency-target-ms:500}") long latencyTargetMs) {
+        this.enabled = enabled;
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.increaseStep = increaseStep;
+        this.burst = burst;
+        this.latencyTargetNanos = Duration.ofMillis(latencyTargetMs).toNanos();
+        this.rate = Math.max(minRate, Math.min(initialRate, maxRate));
+    }
+
+    /**
+     * Completes once a token is available; subscribe once per upstream call.
+     */
+    public Mono<Void> acquire() {
+        if (!enabled) return Mono.empty();
+        long waitNanos = reserve();
+        return waitNanos <= 0 ? Mono.empty() : Mono.delay(Duration.ofNanos(waitNanos)).then();
+    }
+
+    public synchronized void onSuccess(long latencyNanos) {
+        if (latencyNanos > latencyTargetNanos) {
+            rate = Math.max(minRate, rate * 0.9);
+        } else {
+            rate = Math.min(maxRate, rate + increaseStep);
+        }
+    }
+
+    public synchronized void onThrottled() {
+        rate = Math.max(minRate, rate / 2);
+        log.warn("Upstream pushing back, rate limited to {} calls/s", String.format("%.1f", rate));
+    }
+
+    public synchronized double currentRate() {
+        return rate;
+    }
+
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        long interval = (long) (1_000_000_000L / rate);
+        // unused capacity accumulates up to the burst size
+        nextFreeNanos = Math.max(nextFreeNanos, now - (long) (burst * interval));
+        long waitNanos = nextFreeNanos - now;
+        nextFreeNanos += interval;
+        return waitNanos;
+    }
+}
@@ -0,0 +1,86 @@
+package com.aspacelife.postbatch.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Consecutive-failure circuit breaker for the upstream API. Opens after
+ * {@code failure-threshold} failures in a row, rejects calls for {@code open-duration-ms},
+ * then lets a limited number of trial calls through; one success closes it again. A trial that
+ * is cancelled before it completes gives its slot back, and a half-open period whose trials
+ * never report back starts over after another {@code open-duration-ms}.
+ */
+@Component
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenTrials;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private long halfOpenedAtNanos;
+    private int trialsInFlight;
+
+    public CircuitBreaker(@Value("${api.client.circuit-breaker.failure-threshold:20}") int failureThreshold,
+                          @Value("${api.client.circuit-breaker.open-duration-ms:10000}") long openDurationMs,
+                          @Value("${api.client.circuit-breaker.half-open-trials:3}") int halfOpenTrials) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = Duration.ofMillis(openDurationMs).toNanos();
+        this.halfOpenTrials = halfOpenTrials;
+    }
+
+    public synchronized boolean tryAcquire() {
+        long now = System.nanoTime();
+        if (state == State.OPEN && now - openedAtNanos >= openDurationNanos) {
+            state = State.HALF_OPEN;
+            halfOpenedAtNanos = now;
+            trialsInFlight = 0;
+            log.info("Upstream circuit half-open, sending trial calls");
+        } else if (state == State.HALF_OPEN && trialsInFlight >= halfOpenTrials
+                && now - halfOpenedAtNanos >= openDurationNanos) {
+            halfOpenedAtNanos = now;
+            trialsInFlight = 0;
+            log.info("Upstream circuit trials did not report back, sending new trial calls");
+        }
+        if (state == State.CLOSED) return true;
+        if (state == State.HALF_OPEN && trialsInFlight < halfOpenTrials) {
+            trialsInFlight++;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED) log.info("Upstream circuit closed");
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    /**
+     * A call was cancelled before it succeeded or failed, so a half-open trial slot it held is free again
+     */
+    public synchronized void onCancel() {
+        if (state == State.HALF_OPEN && trialsInFlight > 0) trialsInFlight--;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) log.warn("Upstream circuit opened after {} consecutive failures", consecutiveFailures);
+            state = State.OPEN;
+            openedAtNanos = System.nanoTime();
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+}
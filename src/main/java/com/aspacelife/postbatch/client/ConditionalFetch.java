@@ -0,0 +1,20 @@
+package com.aspacelife.postbatch.client;
+
+import com.aspacelife.postbatch.dto.response.PostApiResponse;
+
+/**
+ * Outcome of a conditional GET: the post with its new validators, or not modified.
+ * @param post Body of a 2xx response; null when upstream answered 304
+ */
+public record ConditionalFetch(PostApiResponse post, String etag, String lastModified) {
+
+    private static final ConditionalFetch NOT_MODIFIED = new ConditionalFetch(null, null, null);
+
+    public static ConditionalFetch notModified() {
+        return NOT_MODIFIED;
+    }
+
+    public boolean isNotModified() {
+        return post == null;
+    }
+}
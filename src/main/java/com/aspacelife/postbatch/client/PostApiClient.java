@@ -0,0 +1,164 @@
+package com.aspacelife.postbatch.client;
+
+import com.aspacelife.postbatch.dto.response.PostApiResponse;
+import com.aspacelife.postbatch.exception.UpstreamUnavailableException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Calls to the upstream posts API. Every method is lazy: nothing is sent until subscription.
+ * Each call waits for a token from the adaptive rate limiter, is rejected while the circuit
+ * breaker is open, and single-post calls are retried with jittered exponential backoff.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostApiClient {
+
+    private final WebClient webClient;
+    private final AdaptiveRateLimiter rateLimiter;
+    private final CircuitBreaker circuitBreaker;
+
+    @Value("${api.client.retry.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${api.client.retry.min-backoff-ms:100}")
+    private long minBackoffMs;
+
+    @Value("${api.client.retry.max-backoff-ms:5000}")
+    private long maxBackoffMs;
+
+    public Mono<PostApiResponse> fetchPost(int postId) {
+        Mono<PostApiResponse> call = Mono.defer(() -> {
+            log.debug("Fetching post with ID: {}", postId);
+            return webClient.get()
+                            .uri("/posts/{id}", postId)
+                            .retrieve()
+                            .bodyToMono(PostApiResponse.class);
+        });
+        return guarded(call).retryWhen(retrySpec(postId));
+    }
+
+    /**
+     * Conditional GET of one post: the stored validators are sent as If-None-Match and
+     * If-Modified-Since, and a 304 completes without a body. Guarded and retried like {@link #fetchPost(int)}.
+     * @param etag ETag of the stored copy, or null
+     * @param lastModified Last-Modified of the stored copy, or null
+     */
+    public Mono<ConditionalFetch> fetchPostIfChanged(int postId, String etag, String lastModified) {
+        Mono<ConditionalFetch> call = Mono.defer(() -> {
+            log.debug("Fetching post with ID {} if changed", postId);
+            return webClient.get()
+                            .uri("/posts/{id}", postId)
+                            .headers(headers -> {
+                                if (etag != null) headers.setIfNoneMatch(etag);
+                                if (lastModified != null) headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+                            })
+                            .exchangeToMono(response -> {
+                                if (response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                                    return response.releaseBody().thenReturn(ConditionalFetch.notModified());
+                                }
+                                if (!response.statusCode().is2xxSuccessful()) return response.createError();
+                                HttpHeaders headers = response.headers().asHttpHeaders();
+                                String newEtag = headers.getETag();
+                                String newLastModified = headers.getFirst(HttpHeaders.LAST_MODIFIED);
+                                return response.bodyToMono(PostApiResponse.class)
+                                               .map(body -> new ConditionalFetch(body, newEtag, newLastModified));
+                            });
+        });
+        return guarded(call).retryWhen(retrySpec(postId));
+    }
+
+    private Retry retrySpec(int postId) {
+        return Retry.backoff(maxRetries, Duration.ofMillis(minBackoffMs))
+                    .maxBackoff(Duration.ofMillis(maxBackoffMs))
+                    .jitter(0.5)
+                    .filter(PostApiClient::isRetryable)
+                    .doBeforeRetry(signal -> log.debug("Retrying post with ID {} (attempt {}): {}",
+                            postId, signal.totalRetries() + 1, signal.failure().getMessage()))
+                    .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    /**
+     * Fetch one page of the collection endpoint, starting at the given id. The JSON array is
+     * decoded element by element as it streams in, so the page is never held as a whole.
+     * Ranged calls are not retried; callers fall back to single fetches for what is missing.
+     * @param firstId First post id of the page, assuming upstream ids start at 1 without gaps
+     * @param limit Number of posts to ask for
+     * @return Posts as they are decoded; callers must not assume the ids are exactly the ones asked for
+     */
+    public Flux<PostApiResponse> fetchRange(int firstId, int limit) {
+        Flux<PostApiResponse> call = Flux.defer(() -> {
+            log.debug("Fetching posts {} to {}", firstId, firstId + limit - 1);
+            return webClient.get()
+                            .uri(uriBuilder -> uriBuilder.path("/posts")
+                                                         .queryParam("_start", firstId - 1)
+                                                         .queryParam("_limit", limit)
+                                                         .build())
+                            .retrieve()
+                            .bodyToFlux(PostApiResponse.class);
+        });
+        return permit().flatMapMany(startNanos -> call.doOnComplete(() -> recordSuccess(startNanos))
+                                                      .doOnError(this::recordFailure))
+                       .doFinally(this::releaseOnCancel);
+    }
+
+    private <T> Mono<T> guarded(Mono<T> call) {
+        return permit().flatMap(startNanos -> call.doOnSuccess(response -> recordSuccess(startNanos))
+                                                  .doOnError(this::recordFailure))
+                       .doFinally(this::releaseOnCancel);
+    }
+
+    /**
+     * Passes the circuit breaker, waits for a rate-limiter token, then emits the call's start time.
+     */
+    private Mono<Long> permit() {
+        return Mono.defer(() -> circuitBreaker.tryAcquire()
+                ? rateLimiter.acquire().then(Mono.fromSupplier(System::nanoTime))
+                : Mono.error(new UpstreamUnavailableException("Upstream circuit is open")));
+    }
+
+    private void recordSuccess(long startNanos) {
+        circuitBreaker.onSuccess();
+        rateLimiter.onSuccess(System.nanoTime() - startNanos);
+    }
+
+    // cancelled calls, e.g. by take() or while waiting for a token, never report a result
+    private void releaseOnCancel(SignalType signal) {
+        if (signal == SignalType.CANCEL) circuitBreaker.onCancel();
+    }
+
+    private void recordFailure(Throwable e) {
+        if (isThrottling(e)) rateLimiter.onThrottled();
+        if (isUpstreamFailure(e)) circuitBreaker.onFailure();
+        // a 404 or other client error means the upstream is healthy
+        else circuitBreaker.onSuccess();
+    }
+
+    private static boolean isThrottling(Throwable e) {
+        return e instanceof WebClientResponseException response
+                && (response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()
+                    || response.getStatusCode().is5xxServerError());
+    }
+
+    private static boolean isUpstreamFailure(Throwable e) {
+        return isThrottling(e) || e instanceof WebClientRequestException;
+    }
+
+    private static boolean isRetryable(Throwable e) {
+        return isUpstreamFailure(e);
+    }
+}
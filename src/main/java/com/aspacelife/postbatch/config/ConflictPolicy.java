@@ -0,0 +1,14 @@
+package com.aspacelife.postbatch.config;
+
+/**
+ * What the bulk insert does when a post's {@code external_id} is already stored.
+ * Selected with the {@code batch.ingest.on-conflict} property.
+ */
+public enum ConflictPolicy {
+    /** Plain INSERT; a duplicate fails the whole statement. */
+    FAIL,
+    /** {@code ON CONFLICT(external_id) DO NOTHING}: stored rows are kept as they are. */
+    IGNORE,
+    /** {@code ON CONFLICT(external_id) DO UPDATE}: stored rows are overwritten when their content differs. */
+    UPDATE
+}
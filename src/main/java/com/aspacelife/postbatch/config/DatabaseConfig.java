@@ -1,17 +1,110 @@
 package com.aspacelife.postbatch.config;
 
+import com.aspacelife.postbatch.util.BodyCodec;
+import com.zaxxer.hikari.HikariDataSource;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.sqlite.SQLiteConfig;
 
+import javax.sql.DataSource;
 import jakarta.annotation.PostConstruct;
+import java.util.Map;
 
+/**
+ * SQLite allows one writer at a time, while readers in WAL mode never block on it. Writes
+ * therefore go through a pool of exactly one connection, so they queue in Hikari instead of
+ * failing with SQLITE_BUSY, and read-only transactions use a separate pool of read-only
+ * connections that keep serving pages while a batch is being written.
+ */
 @Configuration
 @Slf4j
 public class DatabaseConfig {
 
+    @Value("${sqlite.cache-size-kib:65536}")
+    private int cacheSizeKib;
+
+    @Value("${sqlite.busy-timeout-ms:5000}")
+    private int busyTimeoutMs;
+
+    @Value("${sqlite.writer.connection-timeout-ms:30000}")
+    private long writerConnectionTimeoutMs;
+
+    @Value("${sqlite.reader.pool-size:4}")
+    private int readerPoolSize;
+
+    @Value("${sqlite.reader.cache-size-kib:16384}")
+    private int readerCacheSizeKib;
+
     @PostConstruct
     public void init() {
         log.info("Initializing SQLite database configuration");
         log.info("Database file: posts.db");
     }
+
+    /**
+     * The data source used by JPA and JdbcTemplate: routes each connection to the writer or the
+     * reader pool depending on whether the current transaction is read-only.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource writerDataSource, HikariDataSource readerDataSource) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+        routing.setTargetDataSources(Map.of(ReadWriteRoutingDataSource.WRITER, writerDataSource,
+                                            ReadWriteRoutingDataSource.READER, readerDataSource));
+        routing.setDefaultTargetDataSource(writerDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * Single connection opened with WAL journaling, synchronous=NORMAL and a page cache of
+     * {@code sqlite.cache-size-kib}; writers wait up to {@code sqlite.writer.connection-timeout-ms} for it.
+     */
+    @Bean(destroyMethod = "close")
+    public HikariDataSource writerDataSource(DataSourceProperties properties, BodyCodec bodyCodec) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setDataSource(new PostBodyDataSource(properties.determineUrl(), sqliteConfig(false), bodyCodec));
+        dataSource.setPoolName("sqlite-writer");
+        dataSource.setMaximumPoolSize(1);
+        dataSource.setMinimumIdle(1);
+        dataSource.setConnectionTimeout(writerConnectionTimeoutMs);
+        return dataSource;
+    }
+
+    /**
+     * Read-only connections. They are opened lazily, since the database file may not exist
+     * until the writer has created the schema.
+     */
+    @Bean(destroyMethod = "close")
+    public HikariDataSource readerDataSource(DataSourceProperties properties, BodyCodec bodyCodec) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setDataSource(new PostBodyDataSource(properties.determineUrl(), sqliteConfig(true), bodyCodec));
+        dataSource.setPoolName("sqlite-reader");
+        dataSource.setMaximumPoolSize(readerPoolSize);
+        dataSource.setMinimumIdle(0);
+        dataSource.setReadOnly(true);
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+
+    private SQLiteConfig sqliteConfig(boolean readOnly) {
+        SQLiteConfig config = new SQLiteConfig();
+        if (readOnly) {
+            // WAL is a property of the file, set by the writer; a read-only connection cannot change it
+            config.setReadOnly(true);
+        } else {
+            config.setJournalMode(SQLiteConfig.JournalMode.WAL);
+            config.setSynchronous(SQLiteConfig.SynchronousMode.NORMAL);
+        }
+        // a negative cache_size is interpreted by SQLite as KiB rather than pages
+        config.setCacheSize(-(readOnly ? readerCacheSizeKib : cacheSizeKib));
+        config.setTempStore(SQLiteConfig.TempStore.MEMORY);
+        config.setBusyTimeout(busyTimeoutMs);
+        return config;
+    }
 }
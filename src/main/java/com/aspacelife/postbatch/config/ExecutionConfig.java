@@ -0,0 +1,49 @@
+package com.aspacelife.postbatch.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@Slf4j
+public class ExecutionConfig implements WebMvcConfigurer {
+
+    @Value("${batch.execution.mode:reactive}")
+    private ExecutionMode executionMode;
+
+    @Value("${batch.execution.platform-pool-size:64}")
+    private int platformPoolSize;
+
+    /**
+     * Executor for batch work and async request handling. Uses a bounded platform pool when
+     * {@code batch.execution.mode=platform-threads}, otherwise one virtual thread per task.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService batchExecutor() {
+        log.info("Batch execution mode: {}", executionMode);
+        if (executionMode == ExecutionMode.PLATFORM_THREADS) {
+            return Executors.newFixedThreadPool(platformPoolSize, new CustomizableThreadFactory("batch-platform-"));
+        }
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("batch-virtual-", 0).factory());
+    }
+
+    @Bean
+    public Scheduler batchScheduler(ExecutorService batchExecutor) {
+        return Schedulers.fromExecutorService(batchExecutor, "batch");
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(batchExecutor()));
+    }
+}
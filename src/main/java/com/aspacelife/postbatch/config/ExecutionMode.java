@@ -0,0 +1,14 @@
+package com.aspacelife.postbatch.config;
+
+/**
+ * How per-post fetches and their persistence are executed during a batch insert.
+ * Selected with the {@code batch.execution.mode} property.
+ */
+public enum ExecutionMode {
+    /** Non-blocking WebClient calls multiplexed over the Netty event loop. */
+    REACTIVE,
+    /** Each fetch runs as a blocking call on its own virtual thread. */
+    VIRTUAL_THREADS,
+    /** Each fetch runs as a blocking call on a bounded platform-thread pool. */
+    PLATFORM_THREADS
+}
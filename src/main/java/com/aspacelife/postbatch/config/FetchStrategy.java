@@ -0,0 +1,12 @@
+package com.aspacelife.postbatch.config;
+
+/**
+ * How post ids are requested from the upstream API. Set with {@code batch.fetch.strategy}
+ * and overridable per batch insert request.
+ */
+public enum FetchStrategy {
+    /** One {@code GET /posts/{id}} per post. */
+    SINGLE,
+    /** Ranged {@code GET /posts?_start=&_limit=} pages, with per-id fetches only for gaps. */
+    RANGE
+}
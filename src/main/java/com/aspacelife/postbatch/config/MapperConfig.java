@@ -1,14 +1,21 @@
 package com.aspacelife.postbatch.config;
 
 import com.aspacelife.postbatch.dto.response.PostApiResponse;
+import com.aspacelife.postbatch.mapper.DirectPostMapper;
+import com.aspacelife.postbatch.mapper.ModelMapperPostMapper;
+import com.aspacelife.postbatch.mapper.PostMapper;
 import com.aspacelife.postbatch.model.Post;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class MapperConfig {
 
+    @Value("${mapping.strategy:direct}")
+    private MappingStrategy mappingStrategy;
+
     @Bean
     public ModelMapper modelMapper() {
         ModelMapper modelMapper = new ModelMapper();
@@ -17,4 +24,11 @@ public class MapperConfig {
                         Post::setExternalId);
         return modelMapper;
     }
+
+    @Bean
+    public PostMapper postMapper(ModelMapper modelMapper) {
+        return mappingStrategy == MappingStrategy.MODEL_MAPPER
+                ? new ModelMapperPostMapper(modelMapper)
+                : new DirectPostMapper();
+    }
 }
@@ -0,0 +1,12 @@
+package com.aspacelife.postbatch.config;
+
+/**
+ * Which PostMapper converts upstream posts into entities. Selected with the
+ * {@code mapping.strategy} property.
+ */
+public enum MappingStrategy {
+    /** Hand-written field copy. */
+    DIRECT,
+    /** Reflective ModelMapper type map. */
+    MODEL_MAPPER
+}
@@ -0,0 +1,54 @@
+package com.aspacelife.postbatch.config;
+
+import com.aspacelife.postbatch.util.BodyCodec;
+import org.sqlite.Function;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteConnection;
+import org.sqlite.SQLiteDataSource;
+import org.sqlite.core.Codes;
+
+import java.sql.SQLException;
+
+/**
+ * SQLite data source whose connections know {@code post_body(body)}, the SQL-side decoder of
+ * {@link BodyCodec}. The search index triggers and the {@code posts_text} view read bodies
+ * through it, so full-text search sees plain text whichever form a body is stored in.
+ */
+class PostBodyDataSource extends SQLiteDataSource {
+
+    // SQLITE_INNOCUOUS: safe to call from triggers and views even with trusted_schema off
+    private static final int INNOCUOUS = 0x200000;
+
+    private final BodyCodec bodyCodec;
+
+    PostBodyDataSource(String url, SQLiteConfig config, BodyCodec bodyCodec) {
+        super(config);
+        this.bodyCodec = bodyCodec;
+        setUrl(url);
+    }
+
+    @Override
+    public SQLiteConnection getConnection(String username, String password) throws SQLException {
+        SQLiteConnection connection = super.getConnection(username, password);
+        // a Function keeps per-call state, so every connection gets its own instance
+        Function.create(connection, "post_body", new PostBodyFunction(bodyCodec), 1, Function.FLAG_DETERMINISTIC | INNOCUOUS);
+        return connection;
+    }
+
+    private static class PostBodyFunction extends Function {
+        private final BodyCodec bodyCodec;
+
+        PostBodyFunction(BodyCodec bodyCodec) {
+            this.bodyCodec = bodyCodec;
+        }
+
+        @Override
+        protected void xFunc() throws SQLException {
+            switch (value_type(0)) {
+                case Codes.SQLITE_NULL -> result();
+                case Codes.SQLITE_BLOB -> result(bodyCodec.decode(value_blob(0)));
+                default -> result(value_text(0));
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.aspacelife.postbatch.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections of read-only transactions to the reader pool and everything else to the
+ * writer. Must sit behind a LazyConnectionDataSourceProxy so the lookup happens at the first
+ * statement, once the transaction's read-only flag is known.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String WRITER = "writer";
+    static final String READER = "reader";
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? READER : WRITER;
+    }
+}
@@ -0,0 +1,137 @@
+package com.aspacelife.postbatch.config;
+
+import com.aspacelife.postbatch.util.BodyCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * SQLite-specific schema objects that Hibernate's ddl-auto does not manage. Runs once the
+ * entity manager factory has created or updated the mapped tables.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BodyCodec bodyCodec;
+
+    @PostConstruct
+    public void init() {
+        createPostCount();
+        boolean recodePending = recordBodyStorage();
+        // while compression is off and nothing is left to recode, every body is TEXT
+        createPostSearch(bodyCodec.isCompressionEnabled() || recodePending);
+    }
+
+    /**
+     * Whether stored bodies may still be in the form of an earlier compression setting
+     */
+    public boolean isBodyRecodePending() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT recode_pending FROM post_body_storage WHERE id = 1", Boolean.class));
+    }
+
+    /**
+     * Called by the body migration, in a write transaction of its own, once every stored body
+     * matches the current setting; with compression off the search index goes back to reading
+     * posts directly, which rebuilds it.
+     */
+    public void bodyRecodeCompleted() {
+        jdbcTemplate.update("UPDATE post_body_storage SET recode_pending = 0 WHERE id = 1");
+        if (!bodyCodec.isCompressionEnabled()) createPostSearch(false);
+    }
+
+    /**
+     * Single-row table holding the body compression setting the stored rows were written with.
+     * A changed setting marks the rows for recoding, so the migration only scans the table after
+     * a change and not on every start.
+     * @return Whether stored bodies may not match the current setting yet
+     */
+    private boolean recordBodyStorage() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS post_body_storage (" +
+                "id INTEGER PRIMARY KEY CHECK (id = 1), compression INTEGER NOT NULL, min_length INTEGER NOT NULL, " +
+                "recode_pending INTEGER NOT NULL)");
+        // bodies stored before the table existed are all TEXT
+        jdbcTemplate.update("INSERT OR IGNORE INTO post_body_storage (id, compression, min_length, recode_pending) " +
+                "VALUES (1, 0, ?, 0)", bodyCodec.getMinLength());
+        boolean changed = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT compression != ? OR (compression = 1 AND min_length != ?) FROM post_body_storage WHERE id = 1",
+                Boolean.class, bodyCodec.isCompressionEnabled(), bodyCodec.getMinLength()));
+        if (changed) {
+            jdbcTemplate.update("UPDATE post_body_storage SET compression = ?, min_length = ?, recode_pending = 1 WHERE id = 1",
+                    bodyCodec.isCompressionEnabled(), bodyCodec.getMinLength());
+            log.info("Post body compression setting changed, stored bodies will be recoded");
+        }
+        return isBodyRecodePending();
+    }
+
+    /**
+     * Single-row table holding the number of posts, kept exact by triggers on every insert and
+     * delete path (bulk insert, JPA, plain SQL) so page requests never need a COUNT(*).
+     */
+    private void createPostCount() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS posts_stats (" +
+                "id INTEGER PRIMARY KEY CHECK (id = 1), row_count INTEGER NOT NULL)");
+        jdbcTemplate.execute("CREATE TRIGGER IF NOT EXISTS posts_count_after_insert AFTER INSERT ON posts " +
+                "BEGIN UPDATE posts_stats SET row_count = row_count + 1 WHERE id = 1; END");
+        jdbcTemplate.execute("CREATE TRIGGER IF NOT EXISTS posts_count_after_delete AFTER DELETE ON posts " +
+                "BEGIN UPDATE posts_stats SET row_count = row_count - 1 WHERE id = 1; END");
+        // reseed once per start so the count is exact even if the file was modified without the triggers
+        jdbcTemplate.update("INSERT OR REPLACE INTO posts_stats (id, row_count) VALUES (1, (SELECT COUNT(*) FROM posts))");
+        log.info("Post count seeded: {}", jdbcTemplate.queryForObject("SELECT row_count FROM posts_stats WHERE id = 1", Long.class));
+    }
+
+    /**
+     * FTS5 index over title and body, an external-content table: the text lives only in posts,
+     * and triggers keep the index in step with every insert, upsert and delete. While bodies may
+     * be compressed, the index reads them through the posts_text view and post_body(), which only
+     * connections of this application define; otherwise it reads posts directly, so the file
+     * stays usable from any SQLite client. Switching between the two rebuilds the index.
+     */
+    private void createPostSearch(boolean decodeBodies) {
+        String existing = jdbcTemplate.query("SELECT sql FROM sqlite_master WHERE type = 'table' AND name = 'posts_fts'",
+                rs -> rs.next() ? rs.getString(1) : null);
+        if (existing != null && existing.contains("posts_text") != decodeBodies) {
+            jdbcTemplate.execute("DROP TRIGGER IF EXISTS posts_fts_after_insert");
+            jdbcTemplate.execute("DROP TRIGGER IF EXISTS posts_fts_after_delete");
+            jdbcTemplate.execute("DROP TRIGGER IF EXISTS posts_fts_after_update");
+            jdbcTemplate.execute("DROP TABLE posts_fts");
+            existing = null;
+        }
+        String content;
+        String oldBody;
+        String newBody;
+        if (decodeBodies) {
+            jdbcTemplate.execute("CREATE VIEW IF NOT EXISTS posts_text AS SELECT id, title, post_body(body) AS body FROM posts");
+            content = "posts_text";
+            oldBody = "post_body(old.body)";
+            newBody = "post_body(new.body)";
+        } else {
+            jdbcTemplate.execute("DROP VIEW IF EXISTS posts_text");
+            content = "posts";
+            oldBody = "old.body";
+            newBody = "new.body";
+        }
+        jdbcTemplate.execute("CREATE VIRTUAL TABLE IF NOT EXISTS posts_fts USING fts5(" +
+                "title, body, content='" + content + "', content_rowid='id', tokenize='porter unicode61')");
+        jdbcTemplate.execute("CREATE TRIGGER IF NOT EXISTS posts_fts_after_insert AFTER INSERT ON posts " +
+                "BEGIN INSERT INTO posts_fts (rowid, title, body) VALUES (new.id, new.title, " + newBody + "); END");
+        jdbcTemplate.execute("CREATE TRIGGER IF NOT EXISTS posts_fts_after_delete AFTER DELETE ON posts " +
+                "BEGIN INSERT INTO posts_fts (posts_fts, rowid, title, body) VALUES ('delete', old.id, old.title, " + oldBody + "); END");
+        jdbcTemplate.execute("CREATE TRIGGER IF NOT EXISTS posts_fts_after_update AFTER UPDATE OF title, body ON posts " +
+                "BEGIN INSERT INTO posts_fts (posts_fts, rowid, title, body) VALUES ('delete', old.id, old.title, " + oldBody + "); " +
+                "INSERT INTO posts_fts (rowid, title, body) VALUES (new.id, new.title, " + newBody + "); END");
+        if (existing == null) {
+            // posts stored before the index existed, or indexed the other way
+            jdbcTemplate.execute("INSERT INTO posts_fts (posts_fts) VALUES ('rebuild')");
+            log.info("Post search index built over {} bodies", decodeBodies ? "decoded" : "plain");
+        }
+    }
+}
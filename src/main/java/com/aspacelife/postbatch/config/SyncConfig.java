@@ -0,0 +1,36 @@
+package com.aspacelife.postbatch.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+@ConditionalOnProperty(name = "sync.engine.enabled", havingValue = "true")
+public class SyncConfig {
+
+    /**
+     * Scheduler of the background sync engine only. A single thread runs one window at a time,
+     * so the engine never competes with itself and never borrows request or batch threads.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler syncTaskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("sync-engine-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(false);
+        return scheduler;
+    }
+
+    /**
+     * Threads for the engine's blocking reads and writes, so a sync lap never queues behind
+     * request-path work on the shared boundedElastic scheduler
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler syncScheduler(@Value("${sync.engine.io-threads:2}") int threads) {
+        return Schedulers.newBoundedElastic(threads, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "sync-engine-io");
+    }
+}
@@ -1,19 +1,87 @@
 package com.aspacelife.postbatch.config;
 
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 
 @Configuration
 public class WebClientConfig {
     @Value("${api.base.url}")
     private String baseUrl;
+
+    @Value("${api.client.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${api.client.pending-acquire-max-count:1000}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${api.client.pending-acquire-timeout-ms:10000}")
+    private long pendingAcquireTimeoutMs;
+
+    @Value("${api.client.max-idle-time-ms:30000}")
+    private long maxIdleTimeMs;
+
+    @Value("${api.client.max-life-time-ms:300000}")
+    private long maxLifeTimeMs;
+
+    @Value("${api.client.evict-interval-ms:60000}")
+    private long evictIntervalMs;
+
+    @Value("${api.client.connect-timeout-ms:5000}")
+    private int connectTimeoutMs;
+
+    @Value("${api.client.response-timeout-ms:10000}")
+    private long responseTimeoutMs;
+
+    @Value("${api.client.compression:true}")
+    private boolean compression;
+
+    @Value("${api.client.http2:false}")
+    private boolean http2;
+
+    /**
+     * Bounded pool for the upstream posts API; its gauges are published to Micrometer
+     * under reactor.netty.connection.provider.post-api.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider postApiConnectionProvider() {
+        return ConnectionProvider.builder("post-api")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .maxLifeTime(Duration.ofMillis(maxLifeTimeMs))
+                .evictInBackground(Duration.ofMillis(evictIntervalMs))
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public WebClient webClient() {
+    public WebClient webClient(ConnectionProvider postApiConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(postApiConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs))
+                .compress(compression)
+                // collapse ids so per-post paths share one meter
+                .metrics(true, uri -> uri.replaceAll("/\\d+", "/{id}"));
+        if (http2) {
+            httpClient = baseUrl.startsWith("https")
+                    ? httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure()
+                    : httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
         return WebClient.builder()
                 .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
     }
 }
@@ -0,0 +1,45 @@
+package com.aspacelife.postbatch.controller;
+
+import com.aspacelife.postbatch.dto.request.BatchJobRequest;
+import com.aspacelife.postbatch.dto.response.BaseResponse;
+import com.aspacelife.postbatch.dto.response.BatchJobResponse;
+import com.aspacelife.postbatch.service.BatchJobService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import static java.lang.Boolean.TRUE;
+
+@RestController
+@RequestMapping("/api/v1/posts/jobs")
+@RequiredArgsConstructor
+@Slf4j
+public class BatchJobController {
+
+    private final BatchJobService batchJobService;
+
+    /**
+     * Endpoint to start a background batch insert
+     * POST /api/v1/posts/jobs
+     * Request body: {"postNumber": 100000, "firstId": 1, "fetchStrategy": "RANGE"} (firstId and fetchStrategy are optional)
+     */
+    @PostMapping
+    public ResponseEntity<BaseResponse<?>> submitJob(@Valid @RequestBody BatchJobRequest request) {
+        log.info("Received batch job request for {} posts", request.getPostNumber());
+        BatchJobResponse job = batchJobService.submit(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(new BaseResponse<>(job, TRUE, "Batch job submitted"));
+    }
+
+    /**
+     * Endpoint to poll the progress of a batch job
+     * GET /api/v1/posts/jobs/{jobId}
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<BaseResponse<?>> getJob(@PathVariable Long jobId) {
+        BatchJobResponse job = batchJobService.getJob(jobId);
+        return ResponseEntity.ok(new BaseResponse<>(job, TRUE, "Batch job fetched successfully"));
+    }
+}
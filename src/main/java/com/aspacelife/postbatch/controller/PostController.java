@@ -1,25 +1,46 @@
 package com.aspacelife.postbatch.controller;
 
+import com.aspacelife.postbatch.cache.PostPageCache;
+import com.aspacelife.postbatch.config.ConflictPolicy;
+import com.aspacelife.postbatch.dto.response.CursorPageResponse;
 import com.aspacelife.postbatch.dto.response.PageResponse;
+import com.aspacelife.postbatch.dto.response.PostView;
 import com.aspacelife.postbatch.dto.request.BatchInsertRequest;
+import com.aspacelife.postbatch.dto.request.ExportFormat;
+import com.aspacelife.postbatch.dto.request.SyncRequest;
 import com.aspacelife.postbatch.dto.response.BaseResponse;
+import com.aspacelife.postbatch.dto.response.ImportResult;
 import com.aspacelife.postbatch.exception.BatchInsertException;
 import com.aspacelife.postbatch.model.Post;
+import com.aspacelife.postbatch.repository.PostFilter;
+import com.aspacelife.postbatch.service.PostExportService;
+import com.aspacelife.postbatch.service.PostImportService;
 import com.aspacelife.postbatch.service.PostService;
+import com.aspacelife.postbatch.service.PostSyncService;
 import com.aspacelife.postbatch.util.AppUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 import static com.aspacelife.postbatch.util.AppUtil.buildSuccessResponse;
 import static java.lang.Boolean.FALSE;
@@ -33,11 +54,17 @@ import static java.lang.Boolean.TRUE;
 public class PostController {
 
     private final PostService postService;
+    private final PostExportService postExportService;
+    private final PostImportService postImportService;
+    private final PostSyncService postSyncService;
+    private final PostPageCache postPageCache;
+    private final ExecutorService batchExecutor;
 
     /**
      * Endpoint to batch insert posts from external API
      * POST /api/v1/posts/batch_insert
-     * Request body: {"postNumber": 24}
+     * Request body: {"postNumber": 24, "fetchStrategy": "RANGE"} (fetchStrategy is optional)
+     * The batch is started on the batch executor so no servlet worker thread waits on it.
      */
     @PostMapping("/batch_insert")
     public CompletableFuture<ResponseEntity<BaseResponse<?>>> batchInsert(
@@ -45,23 +72,46 @@ public class PostController {
         
         log.info("Received batch insert request for {} posts", request.getPostNumber());
         
-        return postService.batchInsertPosts(request.getPostNumber())
-            .thenApply(savedCount -> buildSuccessResponse(request, savedCount))
+        return CompletableFuture.supplyAsync(request::getPostNumber, batchExecutor)
+            .thenCompose(postNumber -> postService.batchInsertPosts(postNumber, request.getFetchStrategy()))
+            .thenApply(result -> buildSuccessResponse(request, result))
+            .exceptionally(AppUtil::buildErrorResponseOnFailure);
+    }
+
+    /**
+     * Endpoint to re-sync stored posts with upstream using conditional GETs
+     * POST /api/v1/posts/sync
+     * Request body: {"postNumber": 100, "firstId": 1} (firstId is optional)
+     * Only new posts and posts whose content hash changed are written.
+     */
+    @PostMapping("/sync")
+    public CompletableFuture<ResponseEntity<BaseResponse<?>>> sync(@Valid @RequestBody SyncRequest request) {
+        int firstId = request.getFirstId() == null ? 1 : request.getFirstId();
+        int lastId = firstId + request.getPostNumber() - 1;
+        log.info("Received sync request for posts {} to {}", firstId, lastId);
+        return CompletableFuture.supplyAsync(() -> lastId, batchExecutor)
+            .thenCompose(last -> postSyncService.sync(firstId, last).toFuture())
+            .thenApply(result -> {
+                BaseResponse<?> response = new BaseResponse<>(result, TRUE, "Posts synced successfully");
+                return ResponseEntity.<BaseResponse<?>>ok(response);
+            })
             .exceptionally(AppUtil::buildErrorResponseOnFailure);
     }
 
     /**
      * Endpoint to fetch paginated posts from database
-     * GET /api/v1/posts/fetch_record?page=1 & size=10
+     * GET /api/v1/posts/fetch_record?page=1 & size=10 & includeBody=true
+     * Pages are read into read-only views; includeBody=false leaves bodies out for list views.
      */
     @GetMapping("/fetch_record")
     public ResponseEntity<BaseResponse<?>> fetchRecord(
             @RequestParam(defaultValue = "0") @Min(value = 1, message = "minimum page = 1") int page,
             @RequestParam(defaultValue = "10") @Min(value = 1, message = "minimum page size = 1")
-            @Max(value = 100, message = "maximum page size = 100") int size) {
+            @Max(value = 100, message = "maximum page size = 100") int size,
+            @RequestParam(defaultValue = "true") boolean includeBody) {
         log.info("Received fetch record request - Page: {}, Size: {}", page, size);
         try {
-            PageResponse<Post> pageResponse = postService.fetchRecords(page, size);
+            PageResponse<PostView> pageResponse = postService.fetchRecordViews(page, size, includeBody);
             return ResponseEntity.ok(new BaseResponse<>(pageResponse, TRUE, "records fetched successfully"));
         } catch (Exception e) {
             log.error("Error fetching records: {}", e.getMessage(), e);
@@ -70,6 +120,90 @@ public class PostController {
         }
     }
 
+    /**
+     * Endpoint to fetch posts by keyset pagination, newest first
+     * GET /api/v1/posts/fetch_record/seek?cursor=aWQ6MTA & size=10 & includeTotal=false
+     * Optional filters: userId=3, createdFrom=2025-01-01T00:00:00, createdTo=2025-02-01T00:00:00;
+     * a created range without userId pages by created_at instead of id.
+     */
+    @GetMapping("/fetch_record/seek")
+    public ResponseEntity<BaseResponse<?>> fetchRecordSeek(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(value = 1, message = "minimum page size = 1")
+            @Max(value = 100, message = "maximum page size = 100") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestParam(required = false) @Min(value = 1, message = "minimum userId = 1") Integer userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo) {
+        log.info("Received seek fetch request - Cursor: {}, Size: {}", cursor, size);
+        PostFilter filter = new PostFilter(userId, createdFrom, createdTo);
+        CursorPageResponse<Post> pageResponse = postService.fetchRecordsAfter(filter, cursor, size, includeTotal);
+        return ResponseEntity.ok(new BaseResponse<>(pageResponse, TRUE, "records fetched successfully"));
+    }
+
+    /**
+     * Endpoint to search posts by title and body, best match first
+     * GET /api/v1/posts/search?q=qui est & page=1 & size=10
+     */
+    @GetMapping("/search")
+    public ResponseEntity<BaseResponse<?>> search(
+            @RequestParam @NotBlank(message = "q is required") @Size(max = 200, message = "q cannot exceed 200 characters") String q,
+            @RequestParam(defaultValue = "1") @Min(value = 1, message = "minimum page = 1") int page,
+            @RequestParam(defaultValue = "10") @Min(value = 1, message = "minimum page size = 1")
+            @Max(value = 100, message = "maximum page size = 100") int size) {
+        log.info("Received search request - Query: {}, Page: {}, Size: {}", q, page, size);
+        PageResponse<Post> pageResponse = postService.searchPosts(q, page, size);
+        return ResponseEntity.ok(new BaseResponse<>(pageResponse, TRUE, "records fetched successfully"));
+    }
+
+    /**
+     * Endpoint to download all posts, streamed row by row
+     * GET /api/v1/posts/export?format=NDJSON (or CSV), optionally filtered by userId, createdFrom, createdTo
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(required = false) @Min(value = 1, message = "minimum userId = 1") Integer userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo) {
+        log.info("Received export request - Format: {}", format);
+        PostFilter filter = new PostFilter(userId, createdFrom, createdTo);
+        StreamingResponseBody body = out -> postExportService.export(filter, format, out);
+        return ResponseEntity.ok()
+                             .contentType(MediaType.parseMediaType(format.getContentType()))
+                             .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"posts." + format.getExtension() + "\"")
+                             .body(body);
+    }
+
+    /**
+     * Endpoint to load posts from a dump without calling the upstream API
+     * POST /api/v1/posts/import?onConflict=UPDATE
+     * Body: NDJSON (application/x-ndjson) or a JSON array of {"id", "userId", "title", "body"} records
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<BaseResponse<?>> importPosts(
+            InputStream body,
+            @RequestParam(required = false) ConflictPolicy onConflict) throws IOException {
+        log.info("Received import request");
+        ImportResult result = postImportService.importPosts(body, onConflict);
+        if (result.getAbortedReason() != null) {
+            return ResponseEntity.badRequest().body(new BaseResponse<>(result, FALSE, "Import stopped at malformed JSON"));
+        }
+        String message = result.getRejected() == 0
+                ? "Posts imported successfully"
+                : String.format("Posts imported, %d records rejected", result.getRejected());
+        return ResponseEntity.status(HttpStatus.CREATED).body(new BaseResponse<>(result, TRUE, message));
+    }
+
+    /**
+     * Hit/miss/eviction statistics of the fetch_record page cache
+     * GET /api/v1/posts/cache_stats
+     */
+    @GetMapping("/cache_stats")
+    public ResponseEntity<Map<String, Object>> cacheStats() {
+        return ResponseEntity.ok(postPageCache.stats());
+    }
+
     /**
      * Health check endpoint
      */
@@ -1,5 +1,6 @@
 package com.aspacelife.postbatch.dto.request;
 
+import com.aspacelife.postbatch.config.FetchStrategy;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
@@ -16,4 +17,6 @@ public class BatchInsertRequest {
     @Min(value = 1, message = "postNumber must be at least 1")
     @Max(value = 100, message = "postNumber cannot exceed 100")
     private Integer postNumber;
+
+    private FetchStrategy fetchStrategy;
 }
@@ -0,0 +1,23 @@
+package com.aspacelife.postbatch.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncRequest {
+
+    @NotNull(message = "postNumber is required")
+    @Min(value = 1, message = "postNumber must be at least 1")
+    @Max(value = 10_000, message = "postNumber cannot exceed 10000")
+    private Integer postNumber;
+
+    @Min(value = 1, message = "firstId must be at least 1")
+    @Max(value = 1_000_000_000, message = "firstId cannot exceed 1000000000")
+    private Integer firstId;
+}
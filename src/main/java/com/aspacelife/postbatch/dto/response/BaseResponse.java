@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.Map;
+
 @Getter
 @Setter
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -12,6 +14,7 @@ public class BaseResponse <T>{
     private String message;
     private boolean success;
     private Integer savedPost;
+    private Map<Integer, String> failedPosts;
 
     public BaseResponse(T data, boolean isSuccess, String message) {
         this.data = data;
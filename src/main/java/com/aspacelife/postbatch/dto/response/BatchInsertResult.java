@@ -0,0 +1,17 @@
+package com.aspacelife.postbatch.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class BatchInsertResult {
+    private final int requested;
+    private final int fetched;
+    private final int saved;
+    private final int failed;
+    /** Failure reason per post id, capped at batch.failures.max-reported entries */
+    private final Map<Integer, String> failures;
+}
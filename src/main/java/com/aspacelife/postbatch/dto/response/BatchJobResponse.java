@@ -0,0 +1,29 @@
+package com.aspacelife.postbatch.dto.response;
+
+import com.aspacelife.postbatch.config.FetchStrategy;
+import com.aspacelife.postbatch.model.JobStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchJobResponse {
+    private Long jobId;
+    private JobStatus status;
+    private Integer firstId;
+    private Integer lastId;
+    private Integer checkpointId;
+    private FetchStrategy fetchStrategy;
+    private long fetched;
+    private long persisted;
+    private long failed;
+    private Double postsPerSecond;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
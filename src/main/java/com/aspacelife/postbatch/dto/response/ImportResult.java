@@ -0,0 +1,20 @@
+package com.aspacelife.postbatch.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportResult {
+    private final long received;
+    private final long saved;
+    private final long rejected;
+    /** Rejection reason per 1-based record number, capped at batch.failures.max-reported entries */
+    private final Map<Long, String> errors;
+    /** Set when the upload was not well-formed JSON; records before it have been stored */
+    private final String abortedReason;
+}
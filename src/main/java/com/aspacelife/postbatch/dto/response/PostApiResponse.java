@@ -1,6 +1,10 @@
 package com.aspacelife.postbatch.dto.response;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,14 +16,21 @@ import lombok.Setter;
 @NoArgsConstructor
 public class PostApiResponse {
     @JsonProperty("id")
+    @NotNull
+    @Positive
     private Integer id;
 
     @JsonProperty("userId")
+    @NotNull
+    @Positive
     private Integer userId;
 
     @JsonProperty("title")
+    @NotBlank
+    @Size(max = 500)
     private String title;
 
     @JsonProperty("body")
+    @NotNull
     private String body;
 }
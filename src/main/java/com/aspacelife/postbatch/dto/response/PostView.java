@@ -0,0 +1,18 @@
+package com.aspacelife.postbatch.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row of a page, mapped straight from JDBC: no persistence context, snapshot or
+ * lifecycle callbacks. Serializes like {@link com.aspacelife.postbatch.model.Post}; body is
+ * left out when the page was read without it.
+ */
+public record PostView(Long id,
+                       Integer userId,
+                       String title,
+                       @JsonInclude(JsonInclude.Include.NON_NULL) String body,
+                       LocalDateTime createdAt,
+                       LocalDateTime updatedAt) {
+}
@@ -0,0 +1,23 @@
+package com.aspacelife.postbatch.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class SyncResult {
+    private final int requested;
+    /** Upstream answered 304 to the conditional GET */
+    private final int notModified;
+    /** Re-downloaded but with the stored content hash; at most the validators were rewritten */
+    private final int unchanged;
+    private final int inserted;
+    private final int updated;
+    /** Upstream answered 404: the id does not exist (yet) */
+    private final int missing;
+    private final int failed;
+    /** Failure reason per post id, capped at batch.failures.max-reported entries */
+    private final Map<Integer, String> failures;
+}
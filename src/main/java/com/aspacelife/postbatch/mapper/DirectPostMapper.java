@@ -0,0 +1,20 @@
+package com.aspacelife.postbatch.mapper;
+
+import com.aspacelife.postbatch.dto.response.PostApiResponse;
+import com.aspacelife.postbatch.model.Post;
+
+/**
+ * Hand-written field copy: no reflection, no type-map lookup, one allocation per post.
+ */
+public class DirectPostMapper implements PostMapper {
+
+    @Override
+    public Post toPost(PostApiResponse response) {
+        Post post = new Post();
+        post.setUserId(response.getUserId());
+        post.setTitle(response.getTitle());
+        post.setBody(response.getBody());
+        post.setExternalId(response.getId());
+        return post;
+    }
+}
@@ -0,0 +1,20 @@
+package com.aspacelife.postbatch.mapper;
+
+import com.aspacelife.postbatch.dto.response.PostApiResponse;
+import com.aspacelife.postbatch.model.Post;
+import lombok.RequiredArgsConstructor;
+import org.modelmapper.ModelMapper;
+
+/**
+ * Maps through the ModelMapper type map registered in MapperConfig.
+ */
+@RequiredArgsConstructor
+public class ModelMapperPostMapper implements PostMapper {
+
+    private final ModelMapper modelMapper;
+
+    @Override
+    public Post toPost(PostApiResponse response) {
+        return modelMapper.map(response, Post.class);
+    }
+}
@@ -0,0 +1,14 @@
+package com.aspacelife.postbatch.mapper;
+
+import com.aspacelife.postbatch.dto.response.PostApiResponse;
+import com.aspacelife.postbatch.model.Post;
+
+public interface PostMapper {
+
+    /**
+     * Convert an upstream post into a new, unsaved entity; the upstream id becomes the external id
+     * @param response Post as returned by the upstream API
+     * @return Unsaved Post
+     */
+    Post toPost(PostApiResponse response);
+}
@@ -0,0 +1,177 @@
+package com.aspacelife.postbatch.metrics;
+
+import com.aspacelife.postbatch.dto.response.SyncResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Meters of the batch ingest hot path. Every meter is created once here so that recording a
+ * fetch or a flush is a plain increment, never a registry lookup.
+ */
+@Component
+public class IngestMetrics {
+
+    private final ObservationRegistry observationRegistry;
+    private final AtomicInteger fetchesInFlight = new AtomicInteger();
+    private final AtomicInteger activeBatches = new AtomicInteger();
+    private final Timer singleFetchSuccess;
+    private final Timer singleFetchError;
+    private final Timer singleFetchCancelled;
+    private final Timer rangeFetchSuccess;
+    private final Timer rangeFetchError;
+    private final Timer rangeFetchCancelled;
+    private final Timer mappingTimer;
+    private final Timer flushTimer;
+    private final DistributionSummary flushSize;
+    private final Counter postsPersisted;
+    private final Counter postsFailed;
+    private final Counter postsSkipped;
+    private final Counter syncNotModified;
+    private final Counter syncUnchanged;
+    private final Counter syncInserted;
+    private final Counter syncUpdated;
+    private final Counter syncMissing;
+    private final Counter syncFailed;
+
+    public IngestMetrics(MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+        meterRegistry.gauge("post.ingest.fetch.in.flight", fetchesInFlight);
+        meterRegistry.gauge("post.ingest.batches.active", activeBatches);
+        this.singleFetchSuccess = fetchTimer(meterRegistry, "single", "success");
+        this.singleFetchError = fetchTimer(meterRegistry, "single", "error");
+        this.singleFetchCancelled = fetchTimer(meterRegistry, "single", "cancelled");
+        this.rangeFetchSuccess = fetchTimer(meterRegistry, "range", "success");
+        this.rangeFetchError = fetchTimer(meterRegistry, "range", "error");
+        this.rangeFetchCancelled = fetchTimer(meterRegistry, "range", "cancelled");
+        this.mappingTimer = Timer.builder("post.ingest.mapping")
+                                 .description("Conversion of one upstream post to an entity")
+                                 .register(meterRegistry);
+        this.flushTimer = Timer.builder("post.ingest.flush")
+                               .description("Bulk insert of one micro-batch of posts")
+                               .publishPercentileHistogram()
+                               .register(meterRegistry);
+        this.flushSize = DistributionSummary.builder("post.ingest.flush.size")
+                                            .description("Posts per micro-batch flush")
+                                            .baseUnit("posts")
+                                            .publishPercentileHistogram()
+                                            .register(meterRegistry);
+        this.postsPersisted = Counter.builder("post.ingest.posts").tag("outcome", "persisted").register(meterRegistry);
+        this.postsFailed = Counter.builder("post.ingest.posts").tag("outcome", "failed").register(meterRegistry);
+        this.postsSkipped = Counter.builder("post.ingest.posts").tag("outcome", "skipped").register(meterRegistry);
+        this.syncNotModified = Counter.builder("post.sync.posts").tag("outcome", "not_modified").register(meterRegistry);
+        this.syncUnchanged = Counter.builder("post.sync.posts").tag("outcome", "unchanged").register(meterRegistry);
+        this.syncInserted = Counter.builder("post.sync.posts").tag("outcome", "inserted").register(meterRegistry);
+        this.syncUpdated = Counter.builder("post.sync.posts").tag("outcome", "updated").register(meterRegistry);
+        this.syncMissing = Counter.builder("post.sync.posts").tag("outcome", "missing").register(meterRegistry);
+        this.syncFailed = Counter.builder("post.sync.posts").tag("outcome", "failed").register(meterRegistry);
+    }
+
+    private static Timer fetchTimer(MeterRegistry meterRegistry, String type, String outcome) {
+        return Timer.builder("post.ingest.fetch")
+                    .description("Upstream request for one post or one ranged page, retries included")
+                    .tag("type", type)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+    }
+
+    /**
+     * Time a single-post fetch from subscription to its terminal signal
+     */
+    public <T> Mono<T> timeSingleFetch(Mono<T> fetch) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            fetchesInFlight.incrementAndGet();
+            return fetch.doFinally(signal -> {
+                fetchesInFlight.decrementAndGet();
+                pick(signal, singleFetchSuccess, singleFetchError, singleFetchCancelled)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            });
+        });
+    }
+
+    /**
+     * Time a ranged fetch from subscription until its last post has been decoded
+     */
+    public <T> Flux<T> timeRangeFetch(Flux<T> fetch) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            fetchesInFlight.incrementAndGet();
+            return fetch.doFinally(signal -> {
+                fetchesInFlight.decrementAndGet();
+                pick(signal, rangeFetchSuccess, rangeFetchError, rangeFetchCancelled)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            });
+        });
+    }
+
+    private static Timer pick(SignalType signal, Timer success, Timer error, Timer cancelled) {
+        return switch (signal) {
+            case ON_ERROR -> error;
+            case CANCEL -> cancelled;
+            default -> success;
+        };
+    }
+
+    public <T> T timeMapping(Supplier<T> mapping) {
+        return mappingTimer.record(mapping);
+    }
+
+    /**
+     * Time one bulk insert and record the flush size and persisted count
+     */
+    public int timeFlush(int size, Supplier<Integer> flush) {
+        flushSize.record(size);
+        Integer saved = flushTimer.record(flush);
+        postsPersisted.increment(saved == null ? 0 : saved);
+        return saved == null ? 0 : saved;
+    }
+
+    public void postFailed() {
+        postsFailed.increment();
+    }
+
+    public void postSkipped() {
+        postsSkipped.increment();
+    }
+
+    public void recordSync(SyncResult result) {
+        syncNotModified.increment(result.getNotModified());
+        syncUnchanged.increment(result.getUnchanged());
+        syncInserted.increment(result.getInserted());
+        syncUpdated.increment(result.getUpdated());
+        syncMissing.increment(result.getMissing());
+        syncFailed.increment(result.getFailed());
+    }
+
+    /**
+     * Wrap a whole batch in a "post.ingest" observation: a timer tagged with the fetch strategy and
+     * outcome, and a span when a tracing bridge is on the classpath.
+     */
+    public <T> Mono<T> observeBatch(String strategy, int requested, Mono<T> batch) {
+        return Mono.defer(() -> {
+            Observation observation = Observation.createNotStarted("post.ingest", observationRegistry)
+                                                 .lowCardinalityKeyValue("strategy", strategy)
+                                                 .highCardinalityKeyValue("requested", String.valueOf(requested))
+                                                 .start();
+            activeBatches.incrementAndGet();
+            return batch.doOnError(observation::error)
+                        .doFinally(signal -> {
+                            activeBatches.decrementAndGet();
+                            observation.stop();
+                        });
+        });
+    }
+}
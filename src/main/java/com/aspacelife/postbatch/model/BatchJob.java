@@ -0,0 +1,75 @@
+package com.aspacelife.postbatch.model;
+
+import com.aspacelife.postbatch.config.FetchStrategy;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A batch ingest of posts firstId..lastId running in the background. checkpointId is the
+ * highest id up to which every post has been committed or skipped, so it stays before the
+ * first failed post; a restarted node resumes the job from the id after it.
+ */
+@Entity
+@Table(name = "batch_jobs")
+@Data
+@NoArgsConstructor
+public class BatchJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "first_id", nullable = false)
+    private Integer firstId;
+
+    @Column(name = "last_id", nullable = false)
+    private Integer lastId;
+
+    @Column(name = "checkpoint_id", nullable = false)
+    private Integer checkpointId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private JobStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "fetch_strategy", length = 20)
+    private FetchStrategy fetchStrategy;
+
+    @Column(name = "fetched", nullable = false)
+    private long fetched;
+
+    @Column(name = "persisted", nullable = false)
+    private long persisted;
+
+    @Column(name = "failed", nullable = false)
+    private long failed;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,8 @@
+package com.aspacelife.postbatch.model;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
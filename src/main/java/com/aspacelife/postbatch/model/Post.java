@@ -7,11 +7,15 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Type;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_user_id_id", columnList = "user_id, id"),
+        @Index(name = "idx_posts_created_at_id", columnList = "created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -29,7 +33,9 @@ public class Post {
     @Column(name = "title", nullable = false, length = 500)
     private String title;
 
+    /** TEXT, or a deflated BLOB when body compression is enabled, see {@link PostBodyType} */
     @Column(name = "body", nullable = false, columnDefinition = "TEXT")
+    @Type(PostBodyType.class)
     private String body;
 
     @Column(name = "external_id", unique = true)
@@ -41,6 +47,20 @@ public class Post {
 
     private LocalDateTime updatedAt;
 
+    /** SHA-256 of userId, title and body, see {@link com.aspacelife.postbatch.util.ContentHashUtil} */
+    @Column(name = "content_hash", length = 64)
+    @JsonIgnore
+    private String contentHash;
+
+    /** Upstream validators of the last fetch, sent back on conditional GETs during sync */
+    @Column(name = "etag", length = 200)
+    @JsonIgnore
+    private String etag;
+
+    @Column(name = "last_modified", length = 64)
+    @JsonIgnore
+    private String lastModified;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,84 @@
+package com.aspacelife.postbatch.model;
+
+import com.aspacelife.postbatch.util.BodyCodec;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.usertype.UserType;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Objects;
+
+/**
+ * Maps {@link Post#getBody()} through {@link BodyCodec}, so entities read and write the same
+ * TEXT-or-compressed-BLOB values as the JDBC paths. Hibernate obtains it from the Spring bean
+ * container ({@code hibernate.cdi.extensions=true}), which supplies the codec.
+ */
+public class PostBodyType implements UserType<String> {
+
+    private final BodyCodec bodyCodec;
+
+    public PostBodyType(BodyCodec bodyCodec) {
+        this.bodyCodec = bodyCodec;
+    }
+
+    @Override
+    public int getSqlType() {
+        return Types.VARCHAR;
+    }
+
+    @Override
+    public Class<String> returnedClass() {
+        return String.class;
+    }
+
+    @Override
+    public boolean equals(String x, String y) {
+        return Objects.equals(x, y);
+    }
+
+    @Override
+    public int hashCode(String x) {
+        return Objects.hashCode(x);
+    }
+
+    @Override
+    public String nullSafeGet(ResultSet rs, int position, SharedSessionContractImplementor session, Object owner)
+            throws SQLException {
+        return bodyCodec.decode(rs.getObject(position));
+    }
+
+    @Override
+    public void nullSafeSet(PreparedStatement st, String value, int index, SharedSessionContractImplementor session)
+            throws SQLException {
+        if (value == null) st.setNull(index, Types.VARCHAR);
+        else bodyCodec.bind(st, index, value);
+    }
+
+    @Override
+    public String deepCopy(String value) {
+        return value;
+    }
+
+    @Override
+    public boolean isMutable() {
+        return false;
+    }
+
+    @Override
+    public Serializable disassemble(String value) {
+        return value;
+    }
+
+    @Override
+    public String assemble(Serializable cached, Object owner) {
+        return (String) cached;
+    }
+
+    @Override
+    public String replace(String detached, String managed, Object owner) {
+        return detached;
+    }
+}
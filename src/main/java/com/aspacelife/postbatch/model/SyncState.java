@@ -0,0 +1,48 @@
+package com.aspacelife.postbatch.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Single-row position of the background sync engine. A lap walks the id space from the first
+ * id upwards one window at a time; once completed, the range is left alone until the re-sync
+ * interval has passed, and a restarted node continues the current lap at nextId.
+ */
+@Entity
+@Table(name = "sync_state")
+@Data
+@NoArgsConstructor
+public class SyncState {
+
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "next_id", nullable = false)
+    private Integer nextId;
+
+    @Column(name = "window_size", nullable = false)
+    private Integer windowSize;
+
+    @Column(name = "posts_per_second")
+    private Double postsPerSecond;
+
+    @Column(name = "lap_started_at")
+    private LocalDateTime lapStartedAt;
+
+    @Column(name = "lap_completed_at")
+    private LocalDateTime lapCompletedAt;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
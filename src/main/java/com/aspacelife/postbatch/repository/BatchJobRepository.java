@@ -0,0 +1,34 @@
+package com.aspacelife.postbatch.repository;
+
+import com.aspacelife.postbatch.model.BatchJob;
+import com.aspacelife.postbatch.model.JobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BatchJobRepository extends JpaRepository<BatchJob, Long> {
+
+    List<BatchJob> findByStatusIn(Collection<JobStatus> statuses);
+
+    /**
+     * Record the checkpoint and counters of a running job without loading it
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE BatchJob j SET j.checkpointId = :checkpointId, j.fetched = :fetched, j.persisted = :persisted, " +
+           "j.failed = :failed, j.updatedAt = :updatedAt WHERE j.id = :id")
+    int updateProgress(@Param("id") Long id,
+                       @Param("checkpointId") Integer checkpointId,
+                       @Param("fetched") long fetched,
+                       @Param("persisted") long persisted,
+                       @Param("failed") long failed,
+                       @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -0,0 +1,24 @@
+package com.aspacelife.postbatch.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters of a seek page. A userId filter pages over the (user_id, id) index in id
+ * order; a created-at range alone pages over the (created_at, id) index in creation order.
+ * @param userId Author of the posts, or null
+ * @param createdFrom Inclusive lower bound of created_at, or null
+ * @param createdTo Inclusive upper bound of created_at, or null
+ */
+public record PostFilter(Integer userId, LocalDateTime createdFrom, LocalDateTime createdTo) {
+
+    public boolean isEmpty() {
+        return userId == null && createdFrom == null && createdTo == null;
+    }
+
+    /**
+     * Whether pages are ordered by created_at rather than by id
+     */
+    public boolean byCreatedAt() {
+        return userId == null && (createdFrom != null || createdTo != null);
+    }
+}
@@ -1,9 +1,47 @@
 package com.aspacelife.postbatch.repository;
 
 import com.aspacelife.postbatch.model.Post;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Page;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface PostRepository extends JpaRepository<Post, Long> {
+public interface PostRepository extends JpaRepository<Post, Long>, PostRepositoryCustom {
+
+    /**
+     * Offset page content only; the total comes from {@link #countPosts()}
+     */
+    List<Post> findAllBy(Pageable pageable);
+
+    /**
+     * First seek page: newest posts, limited by the pageable's size, without a count query
+     */
+    List<Post> findAllByOrderByPostIdDesc(Pageable pageable);
+
+    /**
+     * Following seek pages: posts older than the given primary key, read by range on the PK
+     */
+    List<Post> findByPostIdLessThanOrderByPostIdDesc(Long postId, Pageable pageable);
+
+    /**
+     * Managed posts by upstream id, for updates that must go through the entity lifecycle
+     */
+    List<Post> findByExternalIdIn(Collection<Integer> externalIds);
+
+    /**
+     * Full-text search over title and body through the posts_fts index, best match first;
+     * title hits weigh more than body hits
+     * @param match FTS5 MATCH expression, see {@link com.aspacelife.postbatch.util.SearchQueryUtil}
+     */
+    @Query(value = "SELECT p.* FROM posts_fts f JOIN posts p ON p.id = f.rowid " +
+                   "WHERE posts_fts MATCH :match ORDER BY bm25(posts_fts, 5.0, 1.0), p.id DESC",
+           countQuery = "SELECT COUNT(*) FROM posts_fts WHERE posts_fts MATCH :match",
+           nativeQuery = true)
+    Page<Post> search(@Param("match") String match, Pageable pageable);
 }
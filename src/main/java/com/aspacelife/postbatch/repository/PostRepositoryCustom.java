@@ -0,0 +1,94 @@
+package com.aspacelife.postbatch.repository;
+
+import com.aspacelife.postbatch.config.ConflictPolicy;
+import com.aspacelife.postbatch.dto.response.PostView;
+import com.aspacelife.postbatch.model.Post;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.util.List;
+import java.util.Map;
+
+public interface PostRepositoryCustom {
+
+    /**
+     * Insert posts with multi-row prepared statements, chunked by {@code batch.persist.chunk-size},
+     * inside a single transaction. Generated ids are not written back to the given posts.
+     * @param posts Posts to insert
+     * @param onConflict How rows whose external_id is already stored are handled
+     * @return Number of rows inserted or updated
+     */
+    int bulkInsert(List<Post> posts, ConflictPolicy onConflict);
+
+    /**
+     * Stored content hash and upstream validators of every post with an external id in the range,
+     * read over the external_id index
+     * @return State per external id; ids not stored are absent
+     */
+    Map<Integer, PostSyncState> findSyncStates(int fromExternalId, int toExternalId);
+
+    /**
+     * Store new ETag/Last-Modified values of posts whose content did not change, without
+     * touching updated_at
+     * @param posts Posts carrying externalId, etag and lastModified
+     * @return Number of rows updated
+     */
+    int updateValidators(List<Post> posts);
+
+    /**
+     * Next posts whose body is not stored in the form the current compression setting asks for:
+     * TEXT bodies long enough to compress when it is on, compressed bodies when it is off
+     * @param afterId Highest id already looked at
+     * @param limit Maximum number of posts
+     * @return Posts carrying postId, decoded body and contentHash, in id order
+     */
+    List<Post> findBodiesToRecode(long afterId, int limit);
+
+    /**
+     * Store bodies again in the current storage form, without touching updated_at. A post whose
+     * content hash changed since it was read is left to the writer that changed it, and bodies
+     * that compression would leave as TEXT are skipped.
+     * @param posts Posts carrying postId, body and contentHash
+     * @return Number of rows rewritten
+     */
+    int recodeBodies(List<Post> posts);
+
+    /**
+     * Number of stored posts, read from the trigger-maintained posts_stats row instead of COUNT(*)
+     * @return Total number of posts
+     */
+    long countPosts();
+
+    /**
+     * One offset page of posts, newest first, mapped into immutable views without entities
+     * @param offset Rows to skip
+     * @param limit Maximum number of posts
+     * @param includeBody Whether to read the body column; list views can leave it out
+     * @return Posts of the page
+     */
+    List<PostView> findViews(long offset, int limit, boolean includeBody);
+
+    /**
+     * One seek page of filtered posts, read along the index matching the filter without sorting:
+     * newest id first for a userId filter, newest created_at first for a created-at range alone
+     * @param filter Non-empty filter
+     * @param after Sort key of the last post of the previous page, or null for the first page
+     * @param limit Maximum number of posts
+     * @return Posts of the page
+     */
+    List<Post> findPage(PostFilter filter, PostSeek after, int limit);
+
+    /**
+     * Number of posts matching the filter
+     * @param filter Non-empty filter
+     * @return Matching posts
+     */
+    long countPosts(PostFilter filter);
+
+    /**
+     * Hand every post matching the filter to the handler, oldest first, over a forward-only
+     * cursor; rows are never collected
+     * @param filter userId and/or created-at range; an empty filter scans all posts
+     * @param rowHandler Called once per row while the cursor is open
+     */
+    void scanPosts(PostFilter filter, RowCallbackHandler rowHandler);
+}
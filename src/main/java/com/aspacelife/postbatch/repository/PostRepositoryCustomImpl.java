@@ -0,0 +1,287 @@
+package com.aspacelife.postbatch.repository;
+
+import com.aspacelife.postbatch.config.ConflictPolicy;
+import com.aspacelife.postbatch.dto.response.PostView;
+import com.aspacelife.postbatch.model.Post;
+import com.aspacelife.postbatch.util.BodyCodec;
+import com.aspacelife.postbatch.util.ContentHashUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+@Slf4j
+public class PostRepositoryCustomImpl implements PostRepositoryCustom {
+
+    private static final String INSERT_PREFIX = "INSERT INTO posts " +
+            "(user_id, title, body, external_id, created_at, content_hash, etag, last_modified) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String ON_CONFLICT_IGNORE = " ON CONFLICT(external_id) DO NOTHING";
+    // excluded.created_at carries the timestamp of this write, so it doubles as updated_at
+    private static final String ON_CONFLICT_UPDATE = " ON CONFLICT(external_id) DO UPDATE SET " +
+            "user_id = excluded.user_id, title = excluded.title, body = excluded.body, updated_at = excluded.created_at, " +
+            "content_hash = excluded.content_hash, etag = excluded.etag, last_modified = excluded.last_modified " +
+            "WHERE posts.content_hash IS NOT excluded.content_hash";
+    private static final int COLUMNS_PER_ROW = 8;
+    // SQLITE_MAX_VARIABLE_NUMBER defaults to 32766 since SQLite 3.32
+    private static final int MAX_ROWS_PER_STATEMENT = 32766 / COLUMNS_PER_ROW;
+
+    private static final String SELECT_POSTS = "SELECT id, user_id, title, body, external_id, created_at, updated_at FROM posts";
+
+    private static final String SELECT_VIEWS = "SELECT id, user_id, title, body, created_at, updated_at FROM posts ORDER BY id DESC LIMIT ? OFFSET ?";
+    private static final String SELECT_VIEWS_WITHOUT_BODY = "SELECT id, user_id, title, created_at, updated_at FROM posts ORDER BY id DESC LIMIT ? OFFSET ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BodyCodec bodyCodec;
+
+    @Value("${batch.persist.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${export.fetch-size:1000}")
+    private int exportFetchSize;
+
+    @Override
+    @Transactional
+    public int bulkInsert(List<Post> posts, ConflictPolicy onConflict) {
+        if (posts.isEmpty()) return 0;
+        int rowsPerStatement = Math.max(1, Math.min(chunkSize, MAX_ROWS_PER_STATEMENT));
+        LocalDateTime now = LocalDateTime.now();
+        for (Post post : posts) {
+            if (post.getCreatedAt() == null) post.setCreatedAt(now);
+            if (post.getContentHash() == null) {
+                post.setContentHash(ContentHashUtil.hash(post.getUserId(), post.getTitle(), post.getBody()));
+            }
+        }
+
+        int fullChunks = posts.size() / rowsPerStatement;
+        int written = 0;
+        if (fullChunks > 0) {
+            int[] counts = jdbcTemplate.batchUpdate(insertSql(rowsPerStatement, onConflict), new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    int from = i * rowsPerStatement;
+                    bindRows(ps, posts.subList(from, from + rowsPerStatement));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return fullChunks;
+                }
+            });
+            written += Arrays.stream(counts).map(count -> Math.max(count, 0)).sum();
+        }
+        List<Post> remainder = posts.subList(fullChunks * rowsPerStatement, posts.size());
+        if (!remainder.isEmpty()) {
+            written += jdbcTemplate.update(insertSql(remainder.size(), onConflict), ps -> bindRows(ps, remainder));
+        }
+        log.debug("Bulk inserted {} posts in chunks of {} (on conflict: {})", written, rowsPerStatement, onConflict);
+        return written;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Integer, PostSyncState> findSyncStates(int fromExternalId, int toExternalId) {
+        Map<Integer, PostSyncState> states = new HashMap<>();
+        jdbcTemplate.query("SELECT external_id, content_hash, etag, last_modified FROM posts " +
+                           "WHERE external_id BETWEEN ? AND ?", rs -> {
+            int externalId = rs.getInt("external_id");
+            states.put(externalId, new PostSyncState(externalId, rs.getString("content_hash"),
+                    rs.getString("etag"), rs.getString("last_modified")));
+        }, fromExternalId, toExternalId);
+        return states;
+    }
+
+    @Override
+    @Transactional
+    public int updateValidators(List<Post> posts) {
+        if (posts.isEmpty()) return 0;
+        int[] counts = jdbcTemplate.batchUpdate("UPDATE posts SET etag = ?, last_modified = ? WHERE external_id = ?",
+                posts, posts.size(), (ps, post) -> {
+                    ps.setString(1, post.getEtag());
+                    ps.setString(2, post.getLastModified());
+                    ps.setInt(3, post.getExternalId());
+                })[0];
+        return Arrays.stream(counts).map(count -> Math.max(count, 0)).sum();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Post> findBodiesToRecode(long afterId, int limit) {
+        RowMapper<Post> mapper = (rs, rowNum) -> {
+            Post post = new Post();
+            post.setPostId(rs.getLong("id"));
+            post.setBody(bodyCodec.read(rs, "body"));
+            post.setContentHash(rs.getString("content_hash"));
+            return post;
+        };
+        if (bodyCodec.isCompressionEnabled()) {
+            return jdbcTemplate.query("SELECT id, body, content_hash FROM posts " +
+                                      "WHERE id > ? AND typeof(body) = 'text' AND length(body) >= ? ORDER BY id LIMIT ?",
+                    mapper, afterId, bodyCodec.getMinLength(), limit);
+        }
+        return jdbcTemplate.query("SELECT id, body, content_hash FROM posts " +
+                                  "WHERE id > ? AND typeof(body) = 'blob' ORDER BY id LIMIT ?", mapper, afterId, limit);
+    }
+
+    @Override
+    @Transactional
+    public int recodeBodies(List<Post> posts) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Post post : posts) {
+            Object encoded = bodyCodec.encode(post.getBody());
+            // compressing would not shrink it, so the TEXT value already is the right form
+            if (bodyCodec.isCompressionEnabled() && !(encoded instanceof byte[])) continue;
+            rows.add(new Object[] { encoded, post.getPostId(), post.getContentHash() });
+        }
+        if (rows.isEmpty()) return 0;
+        int[] counts = jdbcTemplate.batchUpdate("UPDATE posts SET body = ? WHERE id = ? AND content_hash IS ?", rows);
+        return Arrays.stream(counts).map(count -> Math.max(count, 0)).sum();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countPosts() {
+        Long count = jdbcTemplate.queryForObject("SELECT row_count FROM posts_stats WHERE id = 1", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PostView> findViews(long offset, int limit, boolean includeBody) {
+        return jdbcTemplate.query(includeBody ? SELECT_VIEWS : SELECT_VIEWS_WITHOUT_BODY, (rs, rowNum) -> {
+            Timestamp createdAt = rs.getTimestamp("created_at");
+            Timestamp updatedAt = rs.getTimestamp("updated_at");
+            return new PostView(rs.getLong("id"), rs.getInt("user_id"), rs.getString("title"),
+                    includeBody ? bodyCodec.read(rs, "body") : null,
+                    createdAt == null ? null : createdAt.toLocalDateTime(),
+                    updatedAt == null ? null : updatedAt.toLocalDateTime());
+        }, limit, offset);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Post> findPage(PostFilter filter, PostSeek after, int limit) {
+        List<Object> args = new ArrayList<>();
+        String sql = pageSql(filter, after, args);
+        args.add(limit);
+        return jdbcTemplate.query(sql, this::mapPost, args.toArray());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countPosts(PostFilter filter) {
+        List<Object> args = new ArrayList<>();
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM posts" + where(filter, args), Long.class, args.toArray());
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void scanPosts(PostFilter filter, RowCallbackHandler rowHandler) {
+        List<Object> args = new ArrayList<>();
+        String sql = SELECT_POSTS + where(filter, args) + " ORDER BY id";
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(exportFetchSize);
+            for (int i = 0; i < args.size(); i++) ps.setObject(i + 1, args.get(i));
+            return ps;
+        }, rowHandler);
+    }
+
+    /**
+     * SELECT of one filtered seek page; the LIMIT placeholder is left for the caller to bind.
+     * created_at is bound as a Timestamp so it compares with the values the driver wrote.
+     */
+    static String pageSql(PostFilter filter, PostSeek after, List<Object> args) {
+        StringBuilder sql = new StringBuilder(SELECT_POSTS).append(where(filter, args));
+        if (filter.byCreatedAt()) {
+            if (after != null) {
+                Timestamp createdAt = Timestamp.valueOf(after.createdAt());
+                // the plain bound narrows the index range, the OR breaks ties on id
+                sql.append(" AND created_at <= ? AND (created_at < ? OR id < ?)");
+                args.add(createdAt);
+                args.add(createdAt);
+                args.add(after.postId());
+            }
+            sql.append(" ORDER BY created_at DESC, id DESC LIMIT ?");
+        } else {
+            if (after != null) {
+                sql.append(" AND id < ?");
+                args.add(after.postId());
+            }
+            sql.append(" ORDER BY id DESC LIMIT ?");
+        }
+        return sql.toString();
+    }
+
+    private static String where(PostFilter filter, List<Object> args) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.userId() != null) {
+            conditions.add("user_id = ?");
+            args.add(filter.userId());
+        }
+        if (filter.createdFrom() != null) {
+            conditions.add("created_at >= ?");
+            args.add(Timestamp.valueOf(filter.createdFrom()));
+        }
+        if (filter.createdTo() != null) {
+            conditions.add("created_at <= ?");
+            args.add(Timestamp.valueOf(filter.createdTo()));
+        }
+        return conditions.isEmpty() ? " WHERE 1 = 1" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private Post mapPost(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        Post post = new Post();
+        post.setPostId(rs.getLong("id"));
+        post.setUserId(rs.getInt("user_id"));
+        post.setTitle(rs.getString("title"));
+        post.setBody(bodyCodec.read(rs, "body"));
+        post.setExternalId((Integer) rs.getObject("external_id"));
+        post.setCreatedAt(createdAt == null ? null : createdAt.toLocalDateTime());
+        post.setUpdatedAt(updatedAt == null ? null : updatedAt.toLocalDateTime());
+        return post;
+    }
+
+    private static String insertSql(int rows, ConflictPolicy onConflict) {
+        String sql = INSERT_PREFIX + String.join(", ", Collections.nCopies(rows, ROW_PLACEHOLDERS));
+        return switch (onConflict) {
+            case FAIL -> sql;
+            case IGNORE -> sql + ON_CONFLICT_IGNORE;
+            case UPDATE -> sql + ON_CONFLICT_UPDATE;
+        };
+    }
+
+    private void bindRows(PreparedStatement ps, List<Post> rows) throws SQLException {
+        int index = 1;
+        for (Post post : rows) {
+            ps.setInt(index++, post.getUserId());
+            ps.setString(index++, post.getTitle());
+            bodyCodec.bind(ps, index++, post.getBody());
+            ps.setObject(index++, post.getExternalId());
+            ps.setTimestamp(index++, Timestamp.valueOf(post.getCreatedAt()));
+            ps.setString(index++, post.getContentHash());
+            ps.setString(index++, post.getEtag());
+            ps.setString(index++, post.getLastModified());
+        }
+    }
+}
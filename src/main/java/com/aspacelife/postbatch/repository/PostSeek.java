@@ -0,0 +1,11 @@
+package com.aspacelife.postbatch.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position after which a seek page starts: the sort key of the last post of the previous page.
+ * @param createdAt created_at of that post when pages are ordered by creation, otherwise null
+ * @param postId Primary key of that post
+ */
+public record PostSeek(LocalDateTime createdAt, long postId) {
+}
@@ -0,0 +1,8 @@
+package com.aspacelife.postbatch.repository;
+
+/**
+ * What a sync needs to know about a stored post: its content hash and the validators to send
+ * on the conditional GET.
+ */
+public record PostSyncState(int externalId, String contentHash, String etag, String lastModified) {
+}
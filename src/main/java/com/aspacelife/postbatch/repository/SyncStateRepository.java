@@ -0,0 +1,9 @@
+package com.aspacelife.postbatch.repository;
+
+import com.aspacelife.postbatch.model.SyncState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SyncStateRepository extends JpaRepository<SyncState, Integer> {
+}
@@ -0,0 +1,21 @@
+package com.aspacelife.postbatch.service;
+
+import com.aspacelife.postbatch.dto.request.BatchJobRequest;
+import com.aspacelife.postbatch.dto.response.BatchJobResponse;
+
+public interface BatchJobService {
+
+    /**
+     * Record a batch job and start it in the background
+     * @param request Range and fetch strategy of the job
+     * @return The job as submitted, including its id
+     */
+    BatchJobResponse submit(BatchJobRequest request);
+
+    /**
+     * Current status of a job; live counters while it runs on this node
+     * @param jobId Job id
+     * @return BatchJobResponse with progress and throughput
+     */
+    BatchJobResponse getJob(Long jobId);
+}
@@ -0,0 +1,19 @@
+package com.aspacelife.postbatch.service;
+
+import com.aspacelife.postbatch.dto.request.ExportFormat;
+import com.aspacelife.postbatch.repository.PostFilter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface PostExportService {
+
+    /**
+     * Write every post matching the filter to the stream, oldest first, one row at a time
+     * @param filter userId and/or created-at range; an empty filter exports all posts
+     * @param format NDJSON or CSV
+     * @param out Destination; not closed
+     * @return Number of posts written
+     */
+    long export(PostFilter filter, ExportFormat format, OutputStream out) throws IOException;
+}
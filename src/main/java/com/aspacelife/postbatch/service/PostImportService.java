@@ -0,0 +1,19 @@
+package com.aspacelife.postbatch.service;
+
+import com.aspacelife.postbatch.config.ConflictPolicy;
+import com.aspacelife.postbatch.dto.response.ImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface PostImportService {
+
+    /**
+     * Parse an NDJSON stream or a JSON array of upstream-shaped posts incrementally and store
+     * the valid ones through the bulk insert, one chunk at a time
+     * @param in Upload body; not closed
+     * @param onConflict How posts whose id is already stored are handled; null uses batch.ingest.on-conflict
+     * @return Counts and the per-record rejection report
+     */
+    ImportResult importPosts(InputStream in, ConflictPolicy onConflict) throws IOException;
+}
@@ -1,24 +1,67 @@
 package com.aspacelife.postbatch.service;
 
+import com.aspacelife.postbatch.config.FetchStrategy;
+import com.aspacelife.postbatch.dto.response.BatchInsertResult;
+import com.aspacelife.postbatch.dto.response.CursorPageResponse;
 import com.aspacelife.postbatch.dto.response.PageResponse;
+import com.aspacelife.postbatch.dto.response.PostView;
 import com.aspacelife.postbatch.model.Post;
+import com.aspacelife.postbatch.repository.PostFilter;
 
 import java.util.concurrent.CompletableFuture;
 
 public interface PostService {
     
     /**
-     * Fetch posts from external API using CompletableFuture and save to database
+     * Fetch posts from external API through a non-blocking WebClient pipeline and save to database
      * @param numberOfPosts Number of posts to fetch
-     * @return CompletableFuture with number of saved posts
+     * @return CompletableFuture with the saved count and the posts that could not be fetched
      */
-    CompletableFuture<Integer> batchInsertPosts(Integer numberOfPosts);
+    CompletableFuture<BatchInsertResult> batchInsertPosts(Integer numberOfPosts);
+
+    /**
+     * Fetch posts from external API with the given fetch strategy and save to database
+     * @param numberOfPosts Number of posts to fetch
+     * @param fetchStrategy Single or ranged upstream requests; null uses batch.fetch.strategy
+     * @return CompletableFuture with the saved count and the posts that could not be fetched
+     */
+    CompletableFuture<BatchInsertResult> batchInsertPosts(Integer numberOfPosts, FetchStrategy fetchStrategy);
     
     /**
-     * Fetch paginated posts from database
+     * Fetch paginated posts from database as read-only views mapped straight from JDBC, served
+     * from the page cache
+     * @param page Page number
+     * @param size Page size
+     * @param includeBody Whether to read and return post bodies
+     * @return PageResponse containing post views
+     */
+    PageResponse<PostView> fetchRecordViews(int page, int size, boolean includeBody);
+
+    /**
+     * Fetch posts by keyset (seek) pagination, newest first
+     * @param cursor Opaque cursor returned by the previous page, or null for the first page
+     * @param size Page size
+     * @param includeTotal Whether to also count all posts
+     * @return CursorPageResponse containing posts and the cursor of the next page
+     */
+    CursorPageResponse<Post> fetchRecordsAfter(String cursor, int size, boolean includeTotal);
+
+    /**
+     * Fetch posts matching the filter by keyset (seek) pagination over the filter's index
+     * @param filter userId and/or created-at range; an empty filter pages over all posts
+     * @param cursor Opaque cursor returned by the previous page, or null for the first page
+     * @param size Page size
+     * @param includeTotal Whether to also count the matching posts
+     * @return CursorPageResponse containing posts and the cursor of the next page
+     */
+    CursorPageResponse<Post> fetchRecordsAfter(PostFilter filter, String cursor, int size, boolean includeTotal);
+
+    /**
+     * Full-text search over post title and body, ranked by relevance
+     * @param query Free text; every word must match, the last one as a prefix
      * @param page Page number
      * @param size Page size
-     * @return PageResponse containing posts
+     * @return PageResponse containing the matching posts
      */
-    PageResponse<Post> fetchRecords(int page, int size);
+    PageResponse<Post> searchPosts(String query, int page, int size);
 }
@@ -0,0 +1,24 @@
+package com.aspacelife.postbatch.service;
+
+import com.aspacelife.postbatch.dto.response.SyncResult;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+public interface PostSyncService {
+
+    /**
+     * Re-check posts firstId..lastId against upstream with conditional GETs and write only what
+     * changed: new posts are bulk inserted, posts whose content hash changed are updated as
+     * entities, and a 304 or an identical hash costs no row write
+     * @return Outcome counts once every id has been checked
+     */
+    Mono<SyncResult> sync(int firstId, int lastId);
+
+    /**
+     * {@link #sync(int, int)} with the caller's own limits, for callers that must not share the
+     * request path's fetch concurrency and threads
+     * @param maxInFlight Conditional GETs in flight at once
+     * @param scheduler Runs the blocking reads and writes of each window
+     */
+    Mono<SyncResult> sync(int firstId, int lastId, int maxInFlight, Scheduler scheduler);
+}
@@ -0,0 +1,151 @@
+package com.aspacelife.postbatch.service.impl;
+
+import com.aspacelife.postbatch.dto.request.BatchJobRequest;
+import com.aspacelife.postbatch.dto.response.BatchJobResponse;
+import com.aspacelife.postbatch.exception.ResourceNotFoundException;
+import com.aspacelife.postbatch.model.BatchJob;
+import com.aspacelife.postbatch.model.JobStatus;
+import com.aspacelife.postbatch.repository.BatchJobRepository;
+import com.aspacelife.postbatch.service.BatchJobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchJobServiceImpl implements BatchJobService {
+
+    private final BatchJobRepository batchJobRepository;
+    private final PostIngestPipeline ingestPipeline;
+    private final Map<Long, JobProgress> runningJobs = new ConcurrentHashMap<>();
+
+    @Value("${batch.failures.max-reported:100}")
+    private int maxReportedFailures;
+
+    @Override
+    public BatchJobResponse submit(BatchJobRequest request) {
+        int firstId = request.getFirstId() == null ? 1 : request.getFirstId();
+        BatchJob job = new BatchJob();
+        job.setFirstId(firstId);
+        job.setLastId(firstId + request.getPostNumber() - 1);
+        job.setCheckpointId(firstId - 1);
+        job.setFetchStrategy(request.getFetchStrategy());
+        job.setStatus(JobStatus.QUEUED);
+        job = batchJobRepository.save(job);
+        log.info("Submitted batch job {} for posts {} to {}", job.getId(), job.getFirstId(), job.getLastId());
+        start(job);
+        return toResponse(job, runningJobs.get(job.getId()));
+    }
+
+    @Override
+    public BatchJobResponse getJob(Long jobId) {
+        BatchJob job = batchJobRepository.findById(jobId)
+                                         .orElseThrow(() -> new ResourceNotFoundException("Batch job not found: " + jobId));
+        return toResponse(job, runningJobs.get(jobId));
+    }
+
+    /**
+     * Jobs left queued or running by a previous process, and jobs that failed, continue from
+     * their checkpoint, so the posts that failed are fetched again.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        batchJobRepository.findByStatusIn(EnumSet.of(JobStatus.QUEUED, JobStatus.RUNNING, JobStatus.FAILED))
+                          .stream()
+                          .filter(job -> !runningJobs.containsKey(job.getId()))
+                          .forEach(job -> {
+                              log.info("Resuming batch job {} after post {}", job.getId(), job.getCheckpointId());
+                              start(job);
+                          });
+    }
+
+    private void start(BatchJob job) {
+        int resumeFrom = job.getCheckpointId() + 1;
+        JobProgress progress = new JobProgress(job, resumeFrom, maxReportedFailures, this::writeCheckpoint);
+        if (resumeFrom > job.getLastId()) {
+            finish(progress, JobStatus.COMPLETED, null);
+            return;
+        }
+        runningJobs.put(job.getId(), progress);
+        job.setStatus(JobStatus.RUNNING);
+        if (job.getStartedAt() == null) job.setStartedAt(LocalDateTime.now());
+        batchJobRepository.save(job);
+
+        ingestPipeline.ingest(resumeFrom, job.getLastId(), job.getFetchStrategy(), progress)
+                      // completion may be signalled on an event-loop thread; the job row is written with JPA
+                      .publishOn(Schedulers.boundedElastic())
+                      .subscribe(result -> finishRun(progress),
+                                 error -> finish(progress, JobStatus.FAILED, error.getMessage()));
+    }
+
+    private void writeCheckpoint(JobProgress progress) {
+        batchJobRepository.updateProgress(progress.jobId(), progress.checkpointId(), progress.totalFetched(),
+                progress.totalPersisted(), progress.totalFailed(), LocalDateTime.now());
+    }
+
+    /**
+     * A run that left failed posts behind ends FAILED, with the checkpoint before the first of them
+     */
+    private void finishRun(JobProgress progress) {
+        if (progress.isComplete()) {
+            finish(progress, JobStatus.COMPLETED, null);
+        } else {
+            finish(progress, JobStatus.FAILED, String.format("%d posts failed; the job resumes after post %d on the next start",
+                    progress.totalFailed(), progress.checkpointId()));
+        }
+    }
+
+    private void finish(JobProgress progress, JobStatus status, String errorMessage) {
+        try {
+            batchJobRepository.findById(progress.jobId()).ifPresent(job -> {
+                job.setStatus(status);
+                job.setCheckpointId(progress.checkpointId());
+                job.setFetched(progress.totalFetched());
+                job.setPersisted(progress.totalPersisted());
+                job.setFailed(progress.totalFailed());
+                job.setErrorMessage(errorMessage == null ? null : errorMessage.substring(0, Math.min(errorMessage.length(), 1000)));
+                job.setFinishedAt(LocalDateTime.now());
+                batchJobRepository.save(job);
+                log.info("Batch job {} {}: {} persisted, {} failed", job.getId(), status, job.getPersisted(), job.getFailed());
+            });
+        } finally {
+            runningJobs.remove(progress.jobId());
+        }
+    }
+
+    private static BatchJobResponse toResponse(BatchJob job, JobProgress progress) {
+        BatchJobResponse response = new BatchJobResponse();
+        response.setJobId(job.getId());
+        response.setStatus(job.getStatus());
+        response.setFirstId(job.getFirstId());
+        response.setLastId(job.getLastId());
+        response.setFetchStrategy(job.getFetchStrategy());
+        response.setErrorMessage(job.getErrorMessage());
+        response.setCreatedAt(job.getCreatedAt());
+        response.setStartedAt(job.getStartedAt());
+        response.setFinishedAt(job.getFinishedAt());
+        if (progress != null) {
+            response.setCheckpointId(progress.checkpointId());
+            response.setFetched(progress.totalFetched());
+            response.setPersisted(progress.totalPersisted());
+            response.setFailed(progress.totalFailed());
+            response.setPostsPerSecond(progress.postsPerSecond());
+        } else {
+            response.setCheckpointId(job.getCheckpointId());
+            response.setFetched(job.getFetched());
+            response.setPersisted(job.getPersisted());
+            response.setFailed(job.getFailed());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,73 @@
+package com.aspacelife.postbatch.service.impl;
+
+import com.aspacelife.postbatch.dto.response.BatchInsertResult;
+import com.aspacelife.postbatch.model.Post;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counters of one running batch, updated concurrently by the fetch and persist stages. Every
+ * requested id ends up in exactly one of persisted, skipped or failed; subclasses can track
+ * the ids that need no further attempt, persisted or skipped, through {@link #onDone(int)}.
+ */
+class BatchProgress {
+
+    private final int requested;
+    private final int maxReportedFailures;
+    private final AtomicInteger fetched = new AtomicInteger();
+    private final AtomicInteger saved = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final Map<Integer, String> failures = new ConcurrentSkipListMap<>();
+
+    BatchProgress(int requested, int maxReportedFailures) {
+        this.requested = requested;
+        this.maxReportedFailures = maxReportedFailures;
+    }
+
+    void fetched() {
+        fetched.incrementAndGet();
+    }
+
+    void persisted(List<Post> posts, int savedCount) {
+        saved.addAndGet(savedCount);
+        posts.forEach(post -> onDone(post.getExternalId()));
+    }
+
+    void skipped(int postId) {
+        onDone(postId);
+    }
+
+    void failed(int postId, Throwable cause) {
+        if (failed.incrementAndGet() <= maxReportedFailures) {
+            Throwable root = cause.getCause() != null ? cause.getCause() : cause;
+            failures.put(postId, root.getMessage());
+        }
+    }
+
+    /**
+     * Called once per requested id when it has been committed or skipped; failed ids are left
+     * out so that they can be attempted again.
+     */
+    protected void onDone(int postId) {
+    }
+
+    int getFetched() {
+        return fetched.get();
+    }
+
+    int getSaved() {
+        return saved.get();
+    }
+
+    int getFailed() {
+        return failed.get();
+    }
+
+    BatchInsertResult toResult() {
+        return new BatchInsertResult(requested, fetched.get(), saved.get(), failed.get(), new TreeMap<>(failures));
+    }
+}
@@ -0,0 +1,89 @@
+package com.aspacelife.postbatch.service.impl;
+
+import com.aspacelife.postbatch.model.BatchJob;
+import com.aspacelife.postbatch.model.Post;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Progress of one run of a batch job. Ids complete out of order, so the checkpoint is the
+ * low watermark: the highest id up to which every id of the run is persisted or skipped. A
+ * failed id holds the checkpoint back, so a resumed run fetches it again. Fetched and persisted
+ * include whatever earlier runs of the same job had recorded; failures do not, since every id
+ * after the checkpoint, earlier failures included, is attempted again.
+ */
+class JobProgress extends BatchProgress {
+
+    private final long jobId;
+    private final int runFirstId;
+    private final int lastId;
+    private final BitSet done;
+    private final long baseFetched;
+    private final long basePersisted;
+    private final long startedNanos = System.nanoTime();
+    private final Consumer<JobProgress> checkpointWriter;
+    private int checkpointId;
+
+    JobProgress(BatchJob job, int runFirstId, int maxReportedFailures, Consumer<JobProgress> checkpointWriter) {
+        super(job.getLastId() - runFirstId + 1, maxReportedFailures);
+        this.jobId = job.getId();
+        this.runFirstId = runFirstId;
+        this.lastId = job.getLastId();
+        this.done = new BitSet(job.getLastId() - runFirstId + 1);
+        this.baseFetched = job.getFetched();
+        this.basePersisted = job.getPersisted();
+        this.checkpointId = runFirstId - 1;
+        this.checkpointWriter = checkpointWriter;
+    }
+
+    @Override
+    void persisted(List<Post> posts, int savedCount) {
+        super.persisted(posts, savedCount);
+        checkpointWriter.accept(this);
+    }
+
+    @Override
+    protected synchronized void onDone(int postId) {
+        if (postId < runFirstId) return;
+        done.set(postId - runFirstId);
+        int next = done.nextClearBit(checkpointId + 1 - runFirstId);
+        checkpointId = runFirstId + next - 1;
+    }
+
+    long jobId() {
+        return jobId;
+    }
+
+    synchronized int checkpointId() {
+        return checkpointId;
+    }
+
+    /**
+     * Whether every id of the job is persisted or skipped
+     */
+    synchronized boolean isComplete() {
+        return checkpointId >= lastId;
+    }
+
+    long totalFetched() {
+        return baseFetched + getFetched();
+    }
+
+    long totalPersisted() {
+        return basePersisted + getSaved();
+    }
+
+    long totalFailed() {
+        return getFailed();
+    }
+
+    /**
+     * Posts persisted per second by this run
+     */
+    double postsPerSecond() {
+        double seconds = (System.nanoTime() - startedNanos) / 1_000_000_000.0;
+        return seconds > 0 ? getSaved() / seconds : 0;
+    }
+}
@@ -0,0 +1,83 @@
+package com.aspacelife.postbatch.service.impl;
+
+import com.aspacelife.postbatch.config.SchemaInitializer;
+import com.aspacelife.postbatch.model.Post;
+import com.aspacelife.postbatch.repository.PostRepository;
+import com.aspacelife.postbatch.util.BodyCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Brings stored bodies in line with {@code storage.body.compression.*} after a startup that
+ * changed the setting: compresses TEXT bodies when compression was switched on, or restores TEXT
+ * when it was switched off; other starts scan nothing. Works in id order in batches of
+ * {@code storage.body.migration.batch-size}, each written through the {@link PostWriteQueue}
+ * like any other write, so batch inserts keep getting the writer in between. The change stays
+ * pending, and the next start resumes it, until a run completes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class PostBodyMigration {
+
+    private static final long MIB = 1024 * 1024;
+
+    private final PostRepository postRepository;
+    private final PostWriteQueue postWriteQueue;
+    private final JdbcTemplate jdbcTemplate;
+    private final BodyCodec bodyCodec;
+    private final SchemaInitializer schemaInitializer;
+    private final ExecutorService batchExecutor;
+
+    @Value("${storage.body.migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${storage.body.migration.batch-size:1000}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled && schemaInitializer.isBodyRecodePending()) batchExecutor.execute(this::migrate);
+    }
+
+    void migrate() {
+        long afterId = 0;
+        int scanned = 0;
+        int recoded = 0;
+        try {
+            List<Post> posts;
+            while (!(posts = postRepository.findBodiesToRecode(afterId, batchSize)).isEmpty()) {
+                List<Post> batch = posts;
+                recoded += postWriteQueue.write(batch.size(), false, () -> postRepository.recodeBodies(batch));
+                scanned += posts.size();
+                afterId = posts.get(posts.size() - 1).getPostId();
+            }
+            // may rebuild the search index, so it must not share a transaction with other writes
+            postWriteQueue.writeAlone(false, () -> {
+                schemaInitializer.bodyRecodeCompleted();
+                return 1;
+            });
+        } catch (RuntimeException e) {
+            log.error("Post body migration stopped after post {}: {}", afterId, e.getMessage(), e);
+            return;
+        }
+        if (scanned == 0) return;
+        log.info("Rewrote {} of {} post bodies {}; database is {} MiB, {} MiB of it free pages until VACUUM",
+                recoded, scanned, bodyCodec.isCompressionEnabled() ? "compressed" : "as text",
+                pragma("page_count") * pragma("page_size") / MIB,
+                pragma("freelist_count") * pragma("page_size") / MIB);
+    }
+
+    private long pragma(String name) {
+        Long value = jdbcTemplate.queryForObject("PRAGMA " + name, Long.class);
+        return value == null ? 0 : value;
+    }
+}
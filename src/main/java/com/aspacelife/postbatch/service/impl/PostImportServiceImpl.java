@@ -0,0 +1,154 @@
+package com.aspacelife.postbatch.service.impl;
+
+import com.aspacelife.postbatch.config.ConflictPolicy;
+import com.aspacelife.postbatch.dto.response.ImportResult;
+import com.aspacelife.postbatch.dto.response.PostApiResponse;
+import com.aspacelife.postbatch.exception.BatchInsertException;
+import com.aspacelife.postbatch.mapper.PostMapper;
+import com.aspacelife.postbatch.model.Post;
+import com.aspacelife.postbatch.service.PostImportService;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Streams an upload through Jackson's parser one record at a time. Each record is read as a
+ * tree first so a record of the wrong shape is rejected on its own; only malformed JSON, after
+ * which the parser cannot resynchronise, ends the import early.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostImportServiceImpl implements PostImportService {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final PostMapper postMapper;
+    private final PostWriteQueue postWriteQueue;
+
+    @Value("${import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${batch.ingest.on-conflict:update}")
+    private ConflictPolicy defaultConflictPolicy;
+
+    @Value("${batch.failures.max-reported:100}")
+    private int maxReportedErrors;
+
+    @Override
+    public ImportResult importPosts(InputStream in, ConflictPolicy onConflict) throws IOException {
+        ConflictPolicy conflictPolicy = onConflict == null ? defaultConflictPolicy : onConflict;
+        Chunk chunk = new Chunk(chunkSize);
+        Map<Long, String> errors = new TreeMap<>();
+        long received = 0;
+        long rejected = 0;
+        String abortedReason = null;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            JsonToken first = parser.nextToken();
+            // a top-level array is unwrapped; otherwise the body is a sequence of root values (NDJSON)
+            boolean array = first == JsonToken.START_ARRAY;
+            JsonToken token = array ? parser.nextToken() : first;
+            while (token != null && token != JsonToken.END_ARRAY) {
+                received++;
+                JsonNode node = parser.readValueAsTree();
+                String error = toPost(node, received, chunk);
+                if (error != null) {
+                    rejected++;
+                    if (errors.size() < maxReportedErrors) errors.put(received, error);
+                }
+                if (chunk.posts.size() >= chunkSize) flush(chunk, conflictPolicy, errors);
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            abortedReason = String.format("Malformed JSON after record %d: %s", received, e.getOriginalMessage());
+            log.warn("Import aborted: {}", abortedReason);
+        } finally {
+            flush(chunk, conflictPolicy, errors);
+        }
+        rejected += chunk.unsaved;
+        log.info("Import finished: {} received, {} saved, {} rejected", received, chunk.saved, rejected);
+        return new ImportResult(received, chunk.saved, rejected, errors, abortedReason);
+    }
+
+    /**
+     * Bind and validate one record, adding it to the chunk when valid
+     * @return The rejection reason, or null
+     */
+    private String toPost(JsonNode node, long recordNumber, Chunk chunk) {
+        if (node == null || !node.isObject()) return "Record is not a JSON object";
+        PostApiResponse record;
+        try {
+            record = objectMapper.treeToValue(node, PostApiResponse.class);
+        } catch (JsonProcessingException e) {
+            return e.getOriginalMessage();
+        }
+        Set<ConstraintViolation<PostApiResponse>> violations = validator.validate(record);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                             .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                             .sorted()
+                             .collect(Collectors.joining(", "));
+        }
+        chunk.posts.add(postMapper.toPost(record));
+        chunk.recordNumbers.add(recordNumber);
+        return null;
+    }
+
+    /**
+     * Write the chunk and empty it. A chunk the database refuses, e.g. a duplicate under
+     * onConflict=FAIL, is reported against its record numbers and the import carries on.
+     */
+    private void flush(Chunk chunk, ConflictPolicy conflictPolicy, Map<Long, String> errors) {
+        if (chunk.posts.isEmpty()) return;
+        try {
+            int savedCount = postWriteQueue.write(chunk.posts, conflictPolicy);
+            chunk.saved += savedCount;
+            log.debug("Imported chunk of {} posts, {} written", chunk.posts.size(), savedCount);
+        } catch (DataAccessException | BatchInsertException e) {
+            log.warn("Import chunk of records {} to {} not stored: {}", chunk.recordNumbers.get(0),
+                    chunk.recordNumbers.get(chunk.recordNumbers.size() - 1), e.getMessage());
+            chunk.unsaved += chunk.posts.size();
+            String reason = "Not stored: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (Long recordNumber : chunk.recordNumbers) {
+                if (errors.size() >= maxReportedErrors) break;
+                errors.put(recordNumber, reason);
+            }
+        } finally {
+            chunk.posts.clear();
+            chunk.recordNumbers.clear();
+        }
+    }
+
+    /** Valid records waiting to be written, with their 1-based record numbers */
+    private static class Chunk {
+        final List<Post> posts;
+        final List<Long> recordNumbers;
+        long saved;
+        long unsaved;
+
+        Chunk(int capacity) {
+            posts = new ArrayList<>(capacity);
+            recordNumbers = new ArrayList<>(capacity);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.aspacelife.postbatch.service.impl;
+
+import com.aspacelife.postbatch.cache.ExternalIdIndex;
+import com.aspacelife.postbatch.client.PostApiClient;
+import com.aspacelife.postbatch.config.ConflictPolicy;
+import com.aspacelife.postbatch.config.ExecutionMode;
+import com.aspacelife.postbatch.config.FetchStrategy;
+import com.aspacelife.postbatch.dto.response.BatchInsertResult;
+import com.aspacelife.postbatch.dto.response.PostApiResponse;
+import com.aspacelife.postbatch.exception.BatchInsertException;
+import com.aspacelife.postbatch.mapper.PostMapper;
+import com.aspacelife.postbatch.metrics.IngestMetrics;
+import com.aspacelife.postbatch.model.Post;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Fetch-and-persist pipeline shared by the synchronous batch insert and batch jobs: posts of an
+ * id range are fetched with bounded concurrency and flushed to the database in micro-batches,
+ * reporting every id's outcome to the given progress.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class PostIngestPipeline {
+
+    private final PostApiClient postApiClient;
+    private final PostMapper postMapper;
+    private final Scheduler batchScheduler;
+    private final ExternalIdIndex externalIdIndex;
+    private final PostWriteQueue postWriteQueue;
+    private final IngestMetrics ingestMetrics;
+
+    @Value("${batch.fetch.max-in-flight:32}")
+    private int maxInFlight;
+
+    @Value("${batch.execution.mode:reactive}")
+    private ExecutionMode executionMode;
+
+    @Value("${batch.flush.size:200}")
+    private int flushSize;
+
+    @Value("${batch.flush.interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${batch.ingest.on-conflict:update}")
+    private ConflictPolicy conflictPolicy;
+
+    @Value("${batch.ingest.skip-known:false}")
+    private boolean skipKnown;
+
+    @Value("${batch.fetch.strategy:single}")
+    private FetchStrategy defaultFetchStrategy;
+
+    @Value("${batch.fetch.range-size:100}")
+    private int rangeSize;
+
+    @Value("${batch.fetch.range-concurrency:4}")
+    private int rangeConcurrency;
+
+    @Value("${batch.failures.max-reported:100}")
+    private int maxReportedFailures;
+
+    @Value("${batch.logging.payloads:false}")
+    private boolean logPayloads;
+
+    BatchProgress newProgress(int requested) {
+        return new BatchProgress(requested, maxReportedFailures);
+    }
+
+    /**
+     * Fetch and persist posts firstId..lastId
+     * @param fetchStrategy Single or ranged upstream requests; null uses batch.fetch.strategy
+     * @param progress Receives the outcome of every id
+     * @return Result once every id has been persisted, skipped or has failed
+     */
+    Mono<BatchInsertResult> ingest(int firstId, int lastId, FetchStrategy fetchStrategy, BatchProgress progress) {
+        FetchStrategy strategy = fetchStrategy == null ? defaultFetchStrategy : fetchStrategy;
+        log.info("Starting batch insert for posts {} to {} ({} fetch, {} in flight, {} mode)",
+                firstId, lastId, strategy, maxInFlight, executionMode);
+        Mono<BatchInsertResult> batch = fetchPosts(firstId, lastId, strategy, progress)
+                   // fair backpressure keeps at most a few flushes queued ahead of the writer,
+                   // so memory stays flat however many posts are requested
+                   .bufferTimeout(flushSize, Duration.ofMillis(flushIntervalMs), true)
+                   // the write queue commits this flush together with those of concurrent batches
+                   .concatMap(posts -> persistCompletedPosts(posts)
+                                           .publishOn(persistScheduler())
+                                           .doOnNext(savedCount -> progress.persisted(posts, savedCount))
+                                           .subscribeOn(persistScheduler()), 1)
+                   .then(Mono.fromSupplier(progress::toResult))
+                   .flatMap(result -> result.getFetched() == 0 && result.getFailed() > 0
+                           ? Mono.error(new BatchInsertException(String.format("All %d post fetches failed: %s",
+                                   result.getFailed(), result.getFailures())))
+                           : Mono.just(result))
+                   .onErrorMap(ex -> {
+                       log.error("Error during batch insert: {}", ex.getMessage(), ex);
+                       return new BatchInsertException(String.format("Failed to complete batch insert with message: %s", ex), ex);
+                   });
+        return ingestMetrics.observeBatch(strategy.name().toLowerCase(), lastId - firstId + 1, batch);
+    }
+
+    private Mono<Integer> persistCompletedPosts(List<Post> posts) {
+        return Mono.fromFuture(() -> {
+            // stringifying every entity costs more than the insert on large batches, so it is opt-in
+            if (logPayloads) log.info("Completed posts to be persisted: {}", posts);
+
+            log.debug("Successfully fetched {} posts. Saving to database...", posts.size());
+            return postWriteQueue.submit(posts, conflictPolicy);
+        }).doOnNext(savedCount -> log.info("Successfully saved {} posts to database", savedCount));
+    }
+
+    private Flux<Post> fetchPosts(int firstId, int lastId, FetchStrategy strategy, BatchProgress progress) {
+        if (strategy == FetchStrategy.SINGLE) return fetchEach(Flux.range(firstId, lastId - firstId + 1), progress);
+        int pages = (lastId - firstId) / rangeSize + 1;
+        return Flux.range(0, pages)
+                   .flatMap(page -> {
+                       int pageStart = firstId + page * rangeSize;
+                       return fetchRangePage(pageStart, Math.min(pageStart + rangeSize - 1, lastId), progress);
+                   }, rangeConcurrency);
+    }
+
+    /**
+     * Fetch every id on its own; an id that still fails after retries is recorded in the
+     * progress and dropped, so one bad post does not abort the batch.
+     */
+    private Flux<Post> fetchEach(Flux<Integer> postIds, BatchProgress progress) {
+        return postIds.filter(postId -> needsFetch(postId, progress))
+                      .flatMap(postId -> fetchPost(postId)
+                              .doOnNext(post -> progress.fetched())
+                              .onErrorResume(e -> {
+                                  ingestMetrics.postFailed();
+                                  progress.failed(postId, e);
+                                  return Mono.empty();
+                              }), maxInFlight);
+    }
+
+    /**
+     * One ranged request for [firstId, lastId]; ids the page did not return, or all of them if the
+     * request failed, are fetched one by one afterwards.
+     */
+    private Flux<Post> fetchRangePage(int firstId, int lastId, BatchProgress progress) {
+        BitSet received = new BitSet(lastId - firstId + 1);
+        Flux<Post> ranged = ingestMetrics.timeRangeFetch(postApiClient.fetchRange(firstId, lastId - firstId + 1))
+                                         .filter(response -> response.getId() != null
+                                                 && response.getId() >= firstId && response.getId() <= lastId
+                                                 && !received.get(response.getId() - firstId))
+                                         .doOnNext(response -> received.set(response.getId() - firstId))
+                                         .filter(response -> needsFetch(response.getId(), progress))
+                                         .map(response -> convertApiResponseToPost(response.getId(), response))
+                                         .doOnNext(post -> progress.fetched())
+                                         .onErrorResume(e -> {
+                                             log.warn("Range fetch of posts {} to {} failed, falling back to single fetches: {}",
+                                                     firstId, lastId, e.getMessage());
+                                             return Flux.empty();
+                                         });
+        Flux<Integer> gaps = Flux.defer(() -> Flux.range(firstId, lastId - firstId + 1)
+                                                  .filter(postId -> !received.get(postId - firstId)));
+        return ranged.concatWith(fetchEach(gaps, progress));
+    }
+
+    private boolean needsFetch(int postId, BatchProgress progress) {
+        if (skipKnown && externalIdIndex.contains(postId)) {
+            log.debug("Skipping post with ID {}: already stored", postId);
+            ingestMetrics.postSkipped();
+            progress.skipped(postId);
+            return false;
+        }
+        return true;
+    }
+
+    private Scheduler persistScheduler() {
+        return executionMode == ExecutionMode.REACTIVE ? Schedulers.boundedElastic() : batchScheduler;
+    }
+
+    private Mono<Post> fetchPost(int postId) {
+        Mono<PostApiResponse> request = ingestMetrics.timeSingleFetch(postApiClient.fetchPost(postId));
+        Mono<PostApiResponse> response = executionMode == ExecutionMode.REACTIVE
+                ? request
+                : Mono.fromCallable(request::block).subscribeOn(batchScheduler);
+        return response.switchIfEmpty(Mono.error(() -> new BatchInsertException("Received null response for post ID: " + postId)))
+                       .map(apiResponse -> convertApiResponseToPost(postId, apiResponse))
+                       .onErrorMap(e -> {
+                           log.error("Error fetching post with ID {}: {}", postId, e.getMessage());
+                           return new BatchInsertException("Failed to fetch post with ID " + postId, e);
+                       });
+    }
+
+    private Post convertApiResponseToPost(int postId, PostApiResponse response) {
+        log.debug("Successfully fetched post with ID: {}", postId);
+        return ingestMetrics.timeMapping(() -> postMapper.toPost(response));
+    }
+}
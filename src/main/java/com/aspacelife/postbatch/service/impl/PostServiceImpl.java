@@ -1,27 +1,29 @@
 package com.aspacelife.postbatch.service.impl;
 
+import com.aspacelife.postbatch.cache.PostPageCache;
+import com.aspacelife.postbatch.config.FetchStrategy;
+import com.aspacelife.postbatch.dto.response.BatchInsertResult;
+import com.aspacelife.postbatch.dto.response.CursorPageResponse;
 import com.aspacelife.postbatch.dto.response.PageResponse;
-import com.aspacelife.postbatch.dto.response.PostApiResponse;
-import com.aspacelife.postbatch.exception.BatchInsertException;
+import com.aspacelife.postbatch.dto.response.PostView;
 import com.aspacelife.postbatch.model.Post;
+import com.aspacelife.postbatch.repository.PostFilter;
 import com.aspacelife.postbatch.repository.PostRepository;
+import com.aspacelife.postbatch.repository.PostSeek;
 import com.aspacelife.postbatch.service.PostService;
+import com.aspacelife.postbatch.util.CursorUtil;
+import com.aspacelife.postbatch.util.SearchQueryUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
@@ -29,80 +31,100 @@ import java.util.stream.IntStream;
 public class PostServiceImpl implements PostService {
 
     private final PostRepository postRepository;
-    private final WebClient webClient;
-    private final ModelMapper modelMapper;
+    private final PostIngestPipeline ingestPipeline;
+    private final PostPageCache postPageCache;
 
     @Override
-    @Transactional
-    public CompletableFuture<Integer> batchInsertPosts(Integer numberOfPosts) {
-        log.info("Starting batch insert for {} posts", numberOfPosts);
-        List<CompletableFuture<Post>> futures = new ArrayList<>();
-        IntStream.rangeClosed(1, numberOfPosts)
-                 .forEach(postId->schedulePostFetchTask(postId, futures));
-        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-                                .thenApply(v -> persistCompletedPosts(futures))
-                                .exceptionally(ex -> {
-                                    log.error("Error during batch insert: {}", ex.getMessage(), ex);
-                                    throw new BatchInsertException(String.format("Failed to complete batch insert with message: %s", ex));
-                                });
+    public CompletableFuture<BatchInsertResult> batchInsertPosts(Integer numberOfPosts) {
+        return batchInsertPosts(numberOfPosts, null);
     }
 
-    private int persistCompletedPosts(List<CompletableFuture<Post>> futures) {
-        List<Post> posts = futures.stream()
-                                  .map(CompletableFuture::join)
-                                  .filter(post -> post != null)
-                                  .collect(Collectors.toList());
+    @Override
+    public CompletableFuture<BatchInsertResult> batchInsertPosts(Integer numberOfPosts, FetchStrategy fetchStrategy) {
+        return ingestPipeline.ingest(1, numberOfPosts, fetchStrategy, ingestPipeline.newProgress(numberOfPosts))
+                             .toFuture();
+    }
 
-        log.info("Completed posts to be persisted: {}", posts);
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<PostView> fetchRecordViews(int page, int size, boolean includeBody) {
+        if (page < 1) page = 1;
+        page = page - 1;
+        if (size < 1) size = 1;
+        if (size > 100) size = 100;
+        int pageIndex = page;
+        int pageSize = size;
+        return postPageCache.get(pageIndex, pageSize, includeBody, () -> loadViewPage(pageIndex, pageSize, includeBody));
+    }
 
-        log.info("Successfully fetched {} posts. Saving to database...", posts.size());
-        List<Post> savedPosts = postRepository.saveAll(posts);
-        log.info("POSTS:: {}", savedPosts);
-        log.info("Successfully saved {} posts to database", savedPosts.size());
-        return savedPosts.size();
+    private PageResponse<PostView> loadViewPage(int page, int size, boolean includeBody) {
+        log.info("Fetching post views - Page: {}, Size: {}, Body: {}", page, size, includeBody);
+        Pageable pageable = PageRequest.of(page, size);
+        List<PostView> views = postRepository.findViews(pageable.getOffset(), size, includeBody);
+        Page<PostView> viewPage = new PageImpl<>(views, pageable, postRepository.countPosts());
+        log.info("Retrieved {} posts out of {} total", viewPage.getNumberOfElements(), viewPage.getTotalElements());
+        return buildPageResponseFrom(viewPage);
     }
 
-    private void schedulePostFetchTask(int postId, List<CompletableFuture<Post>> futures) {
-        CompletableFuture<Post> future = CompletableFuture.supplyAsync(() -> {
-            try {
-                log.debug("Fetching post with ID: {}", postId);
-                PostApiResponse response = webClient.get()
-                                                    .uri("/posts/{id}", postId)
-                                                    .retrieve()
-                                                    .bodyToMono(PostApiResponse.class)
-                                                    .block();
-                if (response != null) return convertApiResponseToPost(postId, response);
-                else throw new BatchInsertException("Received null response for post ID: " + postId);
-            } catch (Exception e) {
-                log.error("Error fetching post with ID {}: {}", postId, e.getMessage());
-                throw new BatchInsertException("Failed to fetch post with ID " + postId, e);
-            }
-        });
-        futures.add(future);
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<Post> fetchRecordsAfter(String cursor, int size, boolean includeTotal) {
+        if (size < 1) size = 1;
+        if (size > 100) size = 100;
+        log.info("Fetching posts - Cursor: {}, Size: {}", cursor, size);
+        // one extra row tells whether another page follows without counting
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Post> posts = (cursor == null || cursor.isBlank())
+                ? postRepository.findAllByOrderByPostIdDesc(limit)
+                : postRepository.findByPostIdLessThanOrderByPostIdDesc(CursorUtil.decode(cursor), limit);
+        boolean hasNext = posts.size() > size;
+        List<Post> content = hasNext ? posts.subList(0, size) : posts;
+        String nextCursor = hasNext ? CursorUtil.encode(content.get(content.size() - 1).getPostId()) : null;
+        Long total = includeTotal ? postRepository.countPosts() : null;
+        log.info("Retrieved {} posts, has next: {}", content.size(), hasNext);
+        return new CursorPageResponse<>(content, size, nextCursor, hasNext, total);
     }
 
-    private Post convertApiResponseToPost(int postId, PostApiResponse response) {
-        log.debug("Successfully fetched post with ID: {}", postId);
-        return modelMapper.map(response, Post.class);
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<Post> fetchRecordsAfter(PostFilter filter, String cursor, int size, boolean includeTotal) {
+        if (filter == null || filter.isEmpty()) return fetchRecordsAfter(cursor, size, includeTotal);
+        if (size < 1) size = 1;
+        if (size > 100) size = 100;
+        log.info("Fetching posts - Filter: {}, Cursor: {}, Size: {}", filter, cursor, size);
+        boolean byCreatedAt = filter.byCreatedAt();
+        PostSeek after = (cursor == null || cursor.isBlank()) ? null : CursorUtil.decode(cursor, byCreatedAt);
+        List<Post> posts = postRepository.findPage(filter, after, size + 1);
+        boolean hasNext = posts.size() > size;
+        List<Post> content = hasNext ? posts.subList(0, size) : posts;
+        String nextCursor = null;
+        if (hasNext) {
+            Post last = content.get(content.size() - 1);
+            nextCursor = byCreatedAt ? CursorUtil.encode(last.getCreatedAt(), last.getPostId()) : CursorUtil.encode(last.getPostId());
+        }
+        Long total = includeTotal ? postRepository.countPosts(filter) : null;
+        log.info("Retrieved {} posts, has next: {}", content.size(), hasNext);
+        return new CursorPageResponse<>(content, size, nextCursor, hasNext, total);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public PageResponse<Post> fetchRecords(int page, int size) {
+    public PageResponse<Post> searchPosts(String query, int page, int size) {
         if (page < 1) page = 1;
         page = page - 1;
         if (size < 1) size = 1;
         if (size > 100) size = 100;
-        log.info("Fetching posts - Page: {}, Size: {}", page, size);
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "postId"));
-        Page<Post> postPage = postRepository.findAll(pageable);
-        log.info("Retrieved {} posts out of {} total", postPage.getNumberOfElements(), postPage.getTotalElements());
+        Pageable pageable = PageRequest.of(page, size);
+        String match = SearchQueryUtil.toMatchExpression(query);
+        if (match.isEmpty()) return buildPageResponseFrom(Page.empty(pageable));
+        log.info("Searching posts - Match: {}, Page: {}, Size: {}", match, page, size);
+        Page<Post> postPage = postRepository.search(match, pageable);
+        log.info("Found {} posts out of {} matches", postPage.getNumberOfElements(), postPage.getTotalElements());
         return buildPageResponseFrom(postPage);
-
     }
 
-    private static PageResponse<Post> buildPageResponseFrom(Page<Post> postPage) {
-        PageResponse<Post> response = new PageResponse<>();
+    private static <T> PageResponse<T> buildPageResponseFrom(Page<T> postPage) {
+        PageResponse<T> response = new PageResponse<>();
         response.setContent(postPage.getContent());
         response.setPageNumber(postPage.getNumber());
         response.setPageSize(postPage.getSize());
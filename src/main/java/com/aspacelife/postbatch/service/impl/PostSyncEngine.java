@@ -0,0 +1,155 @@
+package com.aspacelife.postbatch.service.impl;
+
+import com.aspacelife.postbatch.dto.response.SyncResult;
+import com.aspacelife.postbatch.model.SyncState;
+import com.aspacelife.postbatch.repository.SyncStateRepository;
+import com.aspacelife.postbatch.service.PostSyncService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the local mirror fresh in the background: every tick of the dedicated sync scheduler
+ * delta-syncs one window of upstream ids and moves on. The window is resized so that one
+ * window takes about {@code sync.engine.window.target-ms} at the measured throughput, and
+ * shrinks when most of a window fails. A completed lap is not repeated before
+ * {@code sync.engine.resync-interval-minutes} have passed. Windows are fetched with the engine's
+ * own {@code sync.engine.max-in-flight} on its own I/O scheduler, so the engine never takes
+ * connections or threads from request-path batches.
+ */
+@Component
+@ConditionalOnProperty(name = "sync.engine.enabled", havingValue = "true")
+@Slf4j
+public class PostSyncEngine {
+
+    private final PostSyncService postSyncService;
+    private final SyncStateRepository syncStateRepository;
+    private final ThreadPoolTaskScheduler syncTaskScheduler;
+    private final Scheduler syncScheduler;
+    private final AtomicInteger windowSize = new AtomicInteger();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    @Value("${sync.engine.first-id:1}")
+    private int firstId;
+
+    @Value("${sync.engine.last-id:0}")
+    private int lastId;
+
+    @Value("${sync.engine.max-in-flight:4}")
+    private int maxInFlight;
+
+    @Value("${sync.engine.delay-ms:1000}")
+    private long delayMs;
+
+    @Value("${sync.engine.resync-interval-minutes:60}")
+    private long resyncIntervalMinutes;
+
+    @Value("${sync.engine.window.initial:100}")
+    private int initialWindow;
+
+    @Value("${sync.engine.window.min:10}")
+    private int minWindow;
+
+    @Value("${sync.engine.window.max:2000}")
+    private int maxWindow;
+
+    @Value("${sync.engine.window.target-ms:5000}")
+    private long targetWindowMs;
+
+    public PostSyncEngine(PostSyncService postSyncService, SyncStateRepository syncStateRepository,
+                          ThreadPoolTaskScheduler syncTaskScheduler, Scheduler syncScheduler,
+                          MeterRegistry meterRegistry) {
+        this.postSyncService = postSyncService;
+        this.syncStateRepository = syncStateRepository;
+        this.syncTaskScheduler = syncTaskScheduler;
+        this.syncScheduler = syncScheduler;
+        meterRegistry.gauge("post.sync.window.size", windowSize);
+        meterRegistry.gauge("post.sync.next.id", nextId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        SyncState state = loadState();
+        log.info("Sync engine starting at post {} with windows of {}", state.getNextId(), state.getWindowSize());
+        windowSize.set(state.getWindowSize());
+        nextId.set(state.getNextId());
+        syncTaskScheduler.scheduleWithFixedDelay(this::tick, Duration.ofMillis(delayMs));
+    }
+
+    /**
+     * Sync the next window; errors are logged so the schedule keeps running
+     */
+    void tick() {
+        try {
+            SyncState state = loadState();
+            if (state.getLapCompletedAt() != null) {
+                if (LocalDateTime.now().isBefore(state.getLapCompletedAt().plusMinutes(resyncIntervalMinutes))) return;
+                state.setNextId(firstId);
+                state.setLapStartedAt(LocalDateTime.now());
+                state.setLapCompletedAt(null);
+                log.info("Sync engine starting a new lap at post {}", firstId);
+            }
+            syncWindow(state);
+            syncStateRepository.save(state);
+            windowSize.set(state.getWindowSize());
+            nextId.set(state.getNextId());
+        } catch (Exception e) {
+            log.error("Sync engine tick failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void syncWindow(SyncState state) {
+        int from = state.getNextId();
+        int to = from + state.getWindowSize() - 1;
+        if (lastId > 0) to = Math.min(to, lastId);
+
+        long startNanos = System.nanoTime();
+        SyncResult result = postSyncService.sync(from, to, maxInFlight, syncScheduler).block();
+        long elapsedMs = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+        if (result == null) return;
+
+        if (result.getFailed() * 2 > result.getRequested()) {
+            // upstream is struggling: retry the same ids later with a smaller window
+            state.setWindowSize(Math.max(minWindow, state.getWindowSize() / 2));
+            log.warn("Sync of posts {} to {} mostly failed, window reduced to {}", from, to, state.getWindowSize());
+            return;
+        }
+
+        double postsPerSecond = result.getRequested() * 1000.0 / elapsedMs;
+        state.setPostsPerSecond(postsPerSecond);
+        // halfway between the current size and the size that would take target-ms, to damp oscillation
+        int fitted = (int) (postsPerSecond * targetWindowMs / 1000.0);
+        int resized = (state.getWindowSize() + fitted) / 2;
+        state.setWindowSize(Math.max(minWindow, Math.min(maxWindow, resized)));
+
+        boolean endOfRange = lastId > 0 ? to >= lastId : result.getMissing() == result.getRequested();
+        if (endOfRange) {
+            state.setNextId(firstId);
+            state.setLapCompletedAt(LocalDateTime.now());
+            log.info("Sync engine completed a lap at post {}", to);
+        } else {
+            state.setNextId(to + 1);
+        }
+    }
+
+    private SyncState loadState() {
+        return syncStateRepository.findById(SyncState.SINGLETON_ID).orElseGet(() -> {
+            SyncState state = new SyncState();
+            state.setId(SyncState.SINGLETON_ID);
+            state.setNextId(firstId);
+            state.setWindowSize(Math.max(minWindow, Math.min(maxWindow, initialWindow)));
+            state.setLapStartedAt(LocalDateTime.now());
+            return syncStateRepository.save(state);
+        });
+    }
+}
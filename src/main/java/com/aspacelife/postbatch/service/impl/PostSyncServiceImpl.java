@@ -0,0 +1,208 @@
+package com.aspacelife.postbatch.service.impl;
+
+import com.aspacelife.postbatch.client.ConditionalFetch;
+import com.aspacelife.postbatch.client.PostApiClient;
+import com.aspacelife.postbatch.config.ConflictPolicy;
+import com.aspacelife.postbatch.dto.response.PostApiResponse;
+import com.aspacelife.postbatch.dto.response.SyncResult;
+import com.aspacelife.postbatch.mapper.PostMapper;
+import com.aspacelife.postbatch.metrics.IngestMetrics;
+import com.aspacelife.postbatch.model.Post;
+import com.aspacelife.postbatch.repository.PostRepository;
+import com.aspacelife.postbatch.repository.PostSyncState;
+import com.aspacelife.postbatch.service.PostSyncService;
+import com.aspacelife.postbatch.util.ContentHashUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delta sync over an id range, one window of ids at a time: the window's stored hashes and
+ * validators are read in one query, every id gets a conditional GET, and only the posts that
+ * are new or whose hash changed are written when the window completes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostSyncServiceImpl implements PostSyncService {
+
+    private final PostApiClient postApiClient;
+    private final PostMapper postMapper;
+    private final PostRepository postRepository;
+    private final PostWriteQueue postWriteQueue;
+    private final IngestMetrics ingestMetrics;
+
+    @Value("${batch.fetch.max-in-flight:32}")
+    private int maxInFlight;
+
+    @Value("${sync.window-size:500}")
+    private int windowSize;
+
+    @Value("${batch.failures.max-reported:100}")
+    private int maxReportedFailures;
+
+    @Override
+    public Mono<SyncResult> sync(int firstId, int lastId) {
+        return sync(firstId, lastId, maxInFlight, Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<SyncResult> sync(int firstId, int lastId, int maxInFlight, Scheduler scheduler) {
+        SyncCounters counters = new SyncCounters(lastId - firstId + 1);
+        int windows = (lastId - firstId) / windowSize + 1;
+        log.info("Starting sync of posts {} to {} in {} windows", firstId, lastId, windows);
+        return Flux.range(0, windows)
+                   .concatMap(window -> {
+                       int from = firstId + window * windowSize;
+                       return syncWindow(from, Math.min(from + windowSize - 1, lastId), counters, maxInFlight, scheduler);
+                   })
+                   .then(Mono.fromSupplier(counters::toResult))
+                   .doOnNext(result -> {
+                       ingestMetrics.recordSync(result);
+                       log.info("Sync of posts {} to {} finished: {} not modified, {} unchanged, {} inserted, {} updated, {} missing, {} failed",
+                               firstId, lastId, result.getNotModified(), result.getUnchanged(),
+                               result.getInserted(), result.getUpdated(), result.getMissing(), result.getFailed());
+                   });
+    }
+
+    private Mono<Void> syncWindow(int from, int to, SyncCounters counters, int maxInFlight, Scheduler scheduler) {
+        return Mono.fromCallable(() -> postRepository.findSyncStates(from, to))
+                   .subscribeOn(scheduler)
+                   .flatMap(states -> Flux.range(from, to - from + 1)
+                                          .flatMap(postId -> check(postId, states.get(postId), counters), maxInFlight)
+                                          .collectList()
+                                          .flatMap(changes -> Mono.fromRunnable(() -> apply(changes, counters))
+                                                                  .subscribeOn(scheduler)))
+                   .then();
+    }
+
+    /**
+     * Conditional GET of one post
+     * @return The change to write, or empty when upstream answered 304 or the post failed
+     */
+    private Mono<Change> check(int postId, PostSyncState state, SyncCounters counters) {
+        String etag = state == null ? null : state.etag();
+        String lastModified = state == null ? null : state.lastModified();
+        return postApiClient.fetchPostIfChanged(postId, etag, lastModified)
+                            .flatMap(fetch -> {
+                                if (fetch.isNotModified()) {
+                                    counters.notModified.incrementAndGet();
+                                    return Mono.empty();
+                                }
+                                return Mono.just(toChange(postId, state, fetch));
+                            })
+                            .onErrorResume(e -> {
+                                if (e instanceof WebClientResponseException.NotFound) counters.missing.incrementAndGet();
+                                else counters.failed(postId, e);
+                                return Mono.empty();
+                            });
+    }
+
+    private Change toChange(int postId, PostSyncState state, ConditionalFetch fetch) {
+        PostApiResponse response = fetch.post();
+        String hash = ContentHashUtil.hash(response.getUserId(), response.getTitle(), response.getBody());
+        Kind kind;
+        if (state == null) kind = Kind.INSERT;
+        else if (!hash.equals(state.contentHash())) kind = Kind.UPDATE;
+        else if (!Objects.equals(fetch.etag(), state.etag())
+                || !Objects.equals(fetch.lastModified(), state.lastModified())) kind = Kind.VALIDATORS;
+        else kind = Kind.NONE;
+        return new Change(postId, kind, response, hash, fetch.etag(), fetch.lastModified());
+    }
+
+    private void apply(List<Change> changes, SyncCounters counters) {
+        Map<Kind, List<Change>> byKind = changes.stream().collect(Collectors.groupingBy(Change::kind));
+        counters.unchanged.addAndGet(byKind.getOrDefault(Kind.NONE, List.of()).size());
+
+        List<Change> validators = byKind.getOrDefault(Kind.VALIDATORS, List.of());
+        if (!validators.isEmpty()) {
+            List<Post> posts = validators.stream().map(this::toPost).toList();
+            postWriteQueue.write(posts.size(), false, () -> postRepository.updateValidators(posts));
+            counters.unchanged.addAndGet(validators.size());
+        }
+
+        List<Change> inserts = byKind.getOrDefault(Kind.INSERT, List.of());
+        List<Change> updates = byKind.getOrDefault(Kind.UPDATE, List.of());
+        if (!inserts.isEmpty()) {
+            List<Post> posts = inserts.stream().map(this::toPost).toList();
+            postWriteQueue.write(posts, ConflictPolicy.UPDATE);
+            counters.inserted.addAndGet(posts.size());
+        }
+        if (!updates.isEmpty()) {
+            counters.updated.addAndGet(update(updates));
+        }
+    }
+
+    /**
+     * Changed posts are rewritten through the persistence context so that @PreUpdate stamps
+     * updatedAt; the dirty check turns each into a single UPDATE when the writer's group commits.
+     */
+    private int update(List<Change> updates) {
+        Map<Integer, Change> byId = updates.stream().collect(Collectors.toMap(Change::postId, Function.identity()));
+        return postWriteQueue.write(updates.size(), true, () -> {
+            List<Post> posts = postRepository.findByExternalIdIn(byId.keySet());
+            for (Post post : posts) {
+                Change change = byId.get(post.getExternalId());
+                post.setUserId(change.response().getUserId());
+                post.setTitle(change.response().getTitle());
+                post.setBody(change.response().getBody());
+                post.setContentHash(change.hash());
+                post.setEtag(change.etag());
+                post.setLastModified(change.lastModified());
+            }
+            return posts.size();
+        });
+    }
+
+    private Post toPost(Change change) {
+        Post post = postMapper.toPost(change.response());
+        post.setExternalId(change.postId());
+        post.setContentHash(change.hash());
+        post.setEtag(change.etag());
+        post.setLastModified(change.lastModified());
+        return post;
+    }
+
+    private enum Kind { INSERT, UPDATE, VALIDATORS, NONE }
+
+    private record Change(int postId, Kind kind, PostApiResponse response, String hash, String etag, String lastModified) {}
+
+    private class SyncCounters {
+        private final int requested;
+        private final AtomicInteger notModified = new AtomicInteger();
+        private final AtomicInteger unchanged = new AtomicInteger();
+        private final AtomicInteger inserted = new AtomicInteger();
+        private final AtomicInteger updated = new AtomicInteger();
+        private final AtomicInteger missing = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final Map<Integer, String> failures = new ConcurrentSkipListMap<>();
+
+        SyncCounters(int requested) {
+            this.requested = requested;
+        }
+
+        void failed(int postId, Throwable cause) {
+            if (failed.incrementAndGet() <= maxReportedFailures) failures.put(postId, cause.getMessage());
+        }
+
+        SyncResult toResult() {
+            return new SyncResult(requested, notModified.get(), unchanged.get(), inserted.get(), updated.get(),
+                    missing.get(), failed.get(), new TreeMap<>(failures));
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.aspacelife.postbatch.service.impl;
+
+import com.aspacelife.postbatch.cache.ExternalIdIndex;
+import com.aspacelife.postbatch.cache.PostPageCache;
+import com.aspacelife.postbatch.config.ConflictPolicy;
+import com.aspacelife.postbatch.exception.BatchInsertException;
+import com.aspacelife.postbatch.metrics.IngestMetrics;
+import com.aspacelife.postbatch.model.Post;
+import com.aspacelife.postbatch.repository.PostRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Funnels every mutation of the posts table through one writer thread: bulk inserts from
+ * batches, imports and syncs, sync updates and validator refreshes, and body re-encoding.
+ * Queued requests are committed together in one transaction of up to
+ * {@code batch.write.group.max-rows} rows, waiting at most {@code batch.write.group.max-wait-ms}
+ * for more requests to join, so SQLite pays for one commit per group instead of one per caller.
+ * Each caller's future completes once the group holding its rows has committed. Long writes
+ * such as schema changes can ask to be committed alone, so they never share a transaction, or a
+ * retry, with other callers' rows. With {@code batch.write.group.enabled=false} every request is
+ * written on the caller's thread in its own transaction instead.
+ */
+@Component
+@Slf4j
+class PostWriteQueue {
+
+    private final PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExternalIdIndex externalIdIndex;
+    private final PostPageCache postPageCache;
+    private final IngestMetrics ingestMetrics;
+    private final BlockingQueue<WriteRequest> queue;
+    private final Thread writer;
+
+    @Value("${batch.write.group.enabled:true}")
+    private boolean grouping;
+
+    @Value("${batch.write.group.max-rows:2000}")
+    private int maxGroupRows;
+
+    @Value("${batch.write.group.max-wait-ms:5}")
+    private long maxGroupWaitMs;
+
+    private volatile boolean running = true;
+    // a write that must be committed alone, taken off the queue while a group was being collected
+    private WriteRequest held;
+
+    public PostWriteQueue(PostRepository postRepository, TransactionTemplate transactionTemplate,
+                          ExternalIdIndex externalIdIndex, PostPageCache postPageCache, IngestMetrics ingestMetrics,
+                          MeterRegistry meterRegistry, @Value("${batch.write.queue.capacity:64}") int capacity) {
+        this.postRepository = postRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.externalIdIndex = externalIdIndex;
+        this.postPageCache = postPageCache;
+        this.ingestMetrics = ingestMetrics;
+        this.queue = new LinkedBlockingQueue<>(capacity);
+        this.writer = Thread.ofPlatform().name("post-writer").daemon().unstarted(this::run);
+        meterRegistry.gaugeCollectionSize("post.write.queue.size", List.of(), queue);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (grouping) writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        if (writer.isAlive()) writer.join(TimeUnit.SECONDS.toMillis(10));
+        List<WriteRequest> pending = new ArrayList<>();
+        if (held != null) pending.add(held);
+        queue.drainTo(pending);
+        pending.forEach(request -> request.result().completeExceptionally(
+                new BatchInsertException("Post writer stopped before the write was committed")));
+    }
+
+    /**
+     * Queue posts for the next group commit, blocking while the queue is full
+     * @return Number of rows written, once the group holding them has committed
+     */
+    CompletableFuture<Integer> submit(List<Post> posts, ConflictPolicy onConflict) {
+        if (posts.isEmpty()) return CompletableFuture.completedFuture(0);
+        // callers may reuse their list as soon as this returns
+        List<Post> rows = List.copyOf(posts);
+        return submit(new WriteRequest(rows.size(), () -> postRepository.bulkInsert(rows, onConflict), rows, true,
+                false, new CompletableFuture<>()));
+    }
+
+    /**
+     * Queue any other write to the posts table for the next group commit. The work joins the
+     * group's transaction and may run twice: once in the group and, if the group fails, again
+     * on its own, so it must only depend on the database state it reads.
+     * @param rows Rows the work writes, counted against batch.write.group.max-rows
+     * @param changesPages Whether the work changes what pages show, so cached pages must be dropped
+     * @param work Returns the number of rows written
+     */
+    CompletableFuture<Integer> submit(int rows, boolean changesPages, Supplier<Integer> work) {
+        if (rows == 0) return CompletableFuture.completedFuture(0);
+        return submit(new WriteRequest(rows, work, List.of(), changesPages, false, new CompletableFuture<>()));
+    }
+
+    /**
+     * Run work on the writer thread in a transaction of its own, never grouped with other writes
+     * and never retried, for long or non-repeatable changes such as schema rebuilds. Other writes
+     * still wait for it, as SQLite has a single writer.
+     * @return The work's result once committed
+     */
+    int writeAlone(boolean changesPages, Supplier<Integer> work) {
+        return join(submit(new WriteRequest(1, work, List.of(), changesPages, true, new CompletableFuture<>())));
+    }
+
+    /**
+     * Blocking form of {@link #submit(List, ConflictPolicy)} for callers already on a worker thread
+     */
+    int write(List<Post> posts, ConflictPolicy onConflict) {
+        return join(submit(posts, onConflict));
+    }
+
+    /**
+     * Blocking form of {@link #submit(int, boolean, Supplier)} for callers already on a worker thread
+     */
+    int write(int rows, boolean changesPages, Supplier<Integer> work) {
+        return join(submit(rows, changesPages, work));
+    }
+
+    private CompletableFuture<Integer> submit(WriteRequest request) {
+        if (!running) return CompletableFuture.failedFuture(new BatchInsertException("Post writer is stopped"));
+        if (!grouping) {
+            commitAlone(request);
+            return request.result();
+        }
+        try {
+            queue.put(request);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(new BatchInsertException("Interrupted while queueing posts", e));
+        }
+        return request.result();
+    }
+
+    private static int join(CompletableFuture<Integer> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private void run() {
+        List<WriteRequest> group = new ArrayList<>();
+        while (running) {
+            try {
+                collectGroup(group);
+                commit(group);
+            } catch (InterruptedException e) {
+                group.forEach(request -> request.result().completeExceptionally(
+                        new BatchInsertException("Post writer stopped before the write was committed")));
+                break;
+            } catch (RuntimeException e) {
+                log.error("Post writer failed to complete a group: {}", e.getMessage(), e);
+                group.forEach(request -> request.result().completeExceptionally(e));
+            } finally {
+                group.clear();
+            }
+        }
+        log.info("Post writer stopped");
+    }
+
+    /**
+     * Block for the first request, then keep adding whatever arrives within the wait window
+     * until the group is full. A request to be committed alone makes a group of its own.
+     */
+    private void collectGroup(List<WriteRequest> group) throws InterruptedException {
+        WriteRequest first = held != null ? held : queue.take();
+        held = null;
+        group.add(first);
+        if (first.alone()) return;
+        int rows = first.rows();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxGroupWaitMs);
+        while (rows < maxGroupRows) {
+            WriteRequest next = queue.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (next == null) break;
+            if (next.alone()) {
+                held = next;
+                break;
+            }
+            group.add(next);
+            rows += next.rows();
+        }
+    }
+
+    private void commit(List<WriteRequest> group) {
+        int rows = group.stream().mapToInt(WriteRequest::rows).sum();
+        int[] written = new int[group.size()];
+        try {
+            ingestMetrics.timeFlush(rows, () -> transactionTemplate.execute(status -> {
+                int persisted = 0;
+                for (int i = 0; i < group.size(); i++) {
+                    WriteRequest request = group.get(i);
+                    written[i] = request.work().get();
+                    if (!request.inserted().isEmpty()) persisted += written[i];
+                }
+                return persisted;
+            }));
+        } catch (RuntimeException e) {
+            if (group.size() == 1) {
+                group.get(0).result().completeExceptionally(e);
+                return;
+            }
+            // one caller's bad rows must not fail everyone else's, so retry each on its own
+            log.warn("Group commit of {} writes failed, retrying them one by one: {}", group.size(), e.getMessage());
+            group.forEach(this::commitAlone);
+            return;
+        }
+        afterCommit(group);
+        for (int i = 0; i < group.size(); i++) group.get(i).result().complete(written[i]);
+        log.debug("Committed {} writes of {} rows in one transaction", group.size(), rows);
+    }
+
+    private void commitAlone(WriteRequest request) {
+        try {
+            int[] written = new int[1];
+            ingestMetrics.timeFlush(request.rows(), () -> transactionTemplate.execute(status -> {
+                written[0] = request.work().get();
+                return request.inserted().isEmpty() ? 0 : written[0];
+            }));
+            afterCommit(List.of(request));
+            request.result().complete(written[0]);
+        } catch (RuntimeException e) {
+            request.result().completeExceptionally(e);
+        }
+    }
+
+    private void afterCommit(List<WriteRequest> committed) {
+        committed.forEach(request -> externalIdIndex.addAll(request.inserted()));
+        if (committed.stream().anyMatch(WriteRequest::changesPages)) postPageCache.invalidate();
+    }
+
+    /**
+     * @param inserted Posts the work inserts or upserts, added to the external id index after commit
+     * @param alone Whether the work must be committed in a transaction of its own
+     */
+    private record WriteRequest(int rows, Supplier<Integer> work, List<Post> inserted, boolean changesPages,
+                                boolean alone, CompletableFuture<Integer> result) {
+    }
+}
@@ -2,6 +2,7 @@ package com.aspacelife.postbatch.util;
 
 import com.aspacelife.postbatch.dto.request.BatchInsertRequest;
 import com.aspacelife.postbatch.dto.response.BaseResponse;
+import com.aspacelife.postbatch.dto.response.BatchInsertResult;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -20,10 +21,14 @@ public class AppUtil {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
 
-    public static ResponseEntity<BaseResponse<?>> buildSuccessResponse(BatchInsertRequest request, Integer savedCount) {
-        BaseResponse<Integer> response = new BaseResponse<>(request.getPostNumber(), TRUE, "Posts fetched and saved successfully");
-        response.setSavedPost(savedCount);
-        log.info("Batch insert completed successfully. Saved {} posts", savedCount);
+    public static ResponseEntity<BaseResponse<?>> buildSuccessResponse(BatchInsertRequest request, BatchInsertResult result) {
+        String message = result.getFailed() == 0
+                ? "Posts fetched and saved successfully"
+                : String.format("Posts fetched and saved, %d could not be fetched", result.getFailed());
+        BaseResponse<Integer> response = new BaseResponse<>(request.getPostNumber(), TRUE, message);
+        response.setSavedPost(result.getSaved());
+        if (result.getFailed() > 0) response.setFailedPosts(result.getFailures());
+        log.info("Batch insert completed. Saved {} posts, {} failed", result.getSaved(), result.getFailed());
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 }
@@ -0,0 +1,102 @@
+package com.aspacelife.postbatch.util;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Storage encoding of post bodies. SQLite keeps the storage class of each value, so a body is
+ * either TEXT, stored as is, or a BLOB holding its zlib-deflated UTF-8 bytes; readers decode by
+ * the type they get back and both forms can live in the same table. Whether new bodies are
+ * compressed is set from {@code storage.body.compression.*}.
+ */
+@Component
+@Getter
+@Slf4j
+public class BodyCodec {
+
+    private final boolean compressionEnabled;
+    private final int minLength;
+
+    public BodyCodec(@Value("${storage.body.compression.enabled:false}") boolean compressionEnabled,
+                     @Value("${storage.body.compression.min-length:256}") int minLength) {
+        this.compressionEnabled = compressionEnabled;
+        this.minLength = minLength;
+        log.info("Post body compression: {}", compressionEnabled ? "bodies of " + minLength + "+ chars" : "off");
+    }
+
+    /**
+     * @return The deflated bytes when compression is enabled, the body is at least the minimum
+     * length and deflating actually shrinks it; otherwise the body itself
+     */
+    public Object encode(String body) {
+        if (!compressionEnabled || body == null || body.length() < minLength) return body;
+        byte[] raw = body.getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = deflate(raw);
+        return compressed.length < raw.length ? compressed : body;
+    }
+
+    public String decode(Object stored) {
+        if (stored == null) return null;
+        if (stored instanceof byte[] compressed) return new String(inflate(compressed), StandardCharsets.UTF_8);
+        return stored.toString();
+    }
+
+    public void bind(PreparedStatement ps, int index, String body) throws SQLException {
+        Object encoded = encode(body);
+        if (encoded instanceof byte[] compressed) ps.setBytes(index, compressed);
+        else ps.setString(index, (String) encoded);
+    }
+
+    public String read(ResultSet rs, String column) throws SQLException {
+        return decode(rs.getObject(column));
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 16);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 3);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                // running out of input before the end of the stream means the value was cut short
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Compressed post body is truncated");
+                }
+                out.write(buffer, 0, inflated);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Compressed post body is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.aspacelife.postbatch.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Hash of the upstream-owned fields of a post, used to tell whether a re-fetched post changed
+ * without comparing its text column by column.
+ */
+public class ContentHashUtil {
+    private ContentHashUtil() {}
+
+    public static String hash(Integer userId, String title, String body) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        // NUL separators keep ("ab", "c") and ("a", "bc") apart
+        digest.update(String.valueOf(userId).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(String.valueOf(title).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(String.valueOf(body).getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
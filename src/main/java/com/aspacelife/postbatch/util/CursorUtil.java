@@ -0,0 +1,58 @@
+package com.aspacelife.postbatch.util;
+
+import com.aspacelife.postbatch.exception.InvalidCursorException;
+import com.aspacelife.postbatch.repository.PostSeek;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Encodes the sort key of the last post of a seek page into an opaque, URL-safe cursor and back:
+ * the post id, or created_at and id for pages ordered by creation.
+ */
+public class CursorUtil {
+    private static final String PREFIX = "id:";
+    private static final String CREATED_PREFIX = "ct:";
+
+    private CursorUtil() {}
+
+    public static String encode(long postId) {
+        byte[] raw = (PREFIX + postId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    public static String encode(LocalDateTime createdAt, long postId) {
+        String raw = CREATED_PREFIX + Timestamp.valueOf(createdAt).getTime() + ":" + postId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor of either kind; it must match how the requested pages are ordered
+     * @param byCreatedAt Whether the pages are ordered by created_at
+     */
+    public static PostSeek decode(String cursor, boolean byCreatedAt) {
+        if (!byCreatedAt) return new PostSeek(null, decode(cursor));
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(CREATED_PREFIX)) throw new InvalidCursorException("Invalid cursor: " + cursor);
+            String[] parts = raw.substring(CREATED_PREFIX.length()).split(":");
+            if (parts.length != 2) throw new InvalidCursorException("Invalid cursor: " + cursor);
+            LocalDateTime createdAt = new Timestamp(Long.parseLong(parts[0])).toLocalDateTime();
+            return new PostSeek(createdAt, Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    public static long decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) throw new InvalidCursorException("Invalid cursor: " + cursor);
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.aspacelife.postbatch.util;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Turns free text into an FTS5 MATCH expression. Every word is quoted so user input can never
+ * be parsed as FTS5 syntax (column filters, NEAR, operators); the last word matches as a prefix.
+ */
+public class SearchQueryUtil {
+    private static final int MAX_TERMS = 16;
+
+    private SearchQueryUtil() {}
+
+    /**
+     * @return The MATCH expression, or an empty string when the text has no searchable words
+     */
+    public static String toMatchExpression(String text) {
+        if (text == null) return "";
+        String[] terms = Arrays.stream(text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                               .filter(term -> !term.isEmpty())
+                               .limit(MAX_TERMS)
+                               .toArray(String[]::new);
+        if (terms.length == 0) return "";
+        return Arrays.stream(terms)
+                     .map(term -> "\"" + term + "\"")
+                     .collect(Collectors.joining(" ")) + "*";
+    }
+}
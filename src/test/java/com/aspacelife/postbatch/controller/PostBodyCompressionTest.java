@@ -0,0 +1,72 @@
+package com.aspacelife.postbatch.controller;
+
+import com.aspacelife.postbatch.config.WireMockTestConfig;
+import com.aspacelife.postbatch.repository.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// a database file of its own, so the other suites keep their plain bodies and search triggers
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:target/posts-compression-test.db",
+        "storage.body.compression.enabled=true",
+        "storage.body.compression.min-length=64"
+})
+@AutoConfigureMockMvc
+@ContextConfiguration(classes = { WireMockTestConfig.class })
+public class PostBodyCompressionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        postRepository.deleteAll();
+    }
+
+    @Test
+    void testImport_CompressedBodyIsSearchable() throws Exception {
+        String longBody = "a body long enough to be stored compressed ".repeat(10) + "zephyrine";
+        mockMvc.perform(post("/api/v1/posts/import")
+                        .contentType("application/x-ndjson")
+                        .content("{\"userId\":7,\"id\":9005,\"title\":\"Compressed\",\"body\":\"" + longBody + "\"}\n"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.saved").value(1));
+        Assertions.assertEquals("blob", jdbcTemplate.queryForObject(
+                "SELECT typeof(body) FROM posts WHERE external_id = 9005", String.class));
+
+        mockMvc.perform(get("/api/v1/posts/search")
+                        .param("q", "zephyrine"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].title").value("Compressed"))
+                .andExpect(jsonPath("$.data.content[0].body").value(longBody));
+    }
+
+    @Test
+    void testImport_ShortBodyStaysText() throws Exception {
+        mockMvc.perform(post("/api/v1/posts/import")
+                        .contentType("application/x-ndjson")
+                        .content("{\"userId\":7,\"id\":9007,\"title\":\"Short\",\"body\":\"Too short to compress\"}\n"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.saved").value(1));
+        Assertions.assertEquals("text", jdbcTemplate.queryForObject(
+                "SELECT typeof(body) FROM posts WHERE external_id = 9007", String.class));
+    }
+}
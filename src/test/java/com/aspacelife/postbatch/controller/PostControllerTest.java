@@ -1,8 +1,11 @@
 package com.aspacelife.postbatch.controller;
 
+import com.aspacelife.postbatch.cache.PostPageCache;
 import com.aspacelife.postbatch.config.WireMockTestConfig;
+import com.aspacelife.postbatch.repository.BatchJobRepository;
 import com.aspacelife.postbatch.repository.PostRepository;
 import com.github.tomakehurst.wiremock.WireMockServer;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -15,8 +18,11 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -32,6 +38,12 @@ public class PostControllerTest {
 
     @Autowired
     private PostRepository postRepository;
+
+    @Autowired
+    private PostPageCache postPageCache;
+
+    @Autowired
+    private BatchJobRepository batchJobRepository;
     private static WireMockServer wireMockServer;
 
     @BeforeAll
@@ -48,6 +60,8 @@ public class PostControllerTest {
 
     @BeforeEach
     void setupMocks() {
+        // @Sql fixtures and deleteAll() bypass the write queue, which is what normally invalidates pages
+        postPageCache.invalidate();
         String mockPosts = "[{\"userId\":1,\"id\":1,\"title\":\"Test title 1\",\"body\":\"Body 1\"}," +
                 "{\"userId\":1,\"id\":2,\"title\":\"Test title 2\",\"body\":\"Body 2\"}]";
         System.out.println("setup...");
@@ -66,6 +80,11 @@ public class PostControllerTest {
                 .willReturn(aResponse().withStatus(500)));
     }
 
+    @AfterEach
+    void invalidatePages() {
+        postPageCache.invalidate();
+    }
+
     @Test
     void testBatchInsert_Success() throws Exception {
         MvcResult mvcResult = mockMvc.perform(post("/api/v1/posts/batch_insert")
@@ -111,9 +130,105 @@ public class PostControllerTest {
                 .andExpect(jsonPath("$.message").value("Failed to fetch and save posts"));
     }
 
+    @Test
+    void testSync_SecondRunIsNotModified() throws Exception {
+        postRepository.deleteAll();
+        wireMockServer.stubFor(get(urlPathEqualTo("/posts/1"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withHeader("ETag", "\"v1\"")
+                        .withBody("{\"userId\":1,\"id\":1,\"title\":\"Test title 1\",\"body\":\"Body 1\"}")
+                        .withStatus(200)));
+        wireMockServer.stubFor(get(urlPathEqualTo("/posts/1"))
+                .withHeader("If-None-Match", equalTo("\"v1\""))
+                .willReturn(aResponse().withStatus(304)));
+
+        MvcResult first = mockMvc.perform(post("/api/v1/posts/sync")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"postNumber\": 1}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(first))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.inserted").value(1))
+                .andExpect(jsonPath("$.data.failed").value(0));
+
+        MvcResult second = mockMvc.perform(post("/api/v1/posts/sync")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"postNumber\": 1}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(second))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.notModified").value(1))
+                .andExpect(jsonPath("$.data.inserted").value(0))
+                .andExpect(jsonPath("$.data.updated").value(0));
+        postRepository.deleteAll();
+    }
 
     @Test
-    @Sql(scripts = {"/db/test-data.sql"})
+    void testBatchJob_SubmitAndPoll() throws Exception {
+        postRepository.deleteAll();
+        MvcResult mvcResult = mockMvc.perform(post("/api/v1/posts/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"postNumber\": 2}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.jobId").isNumber())
+                .andExpect(jsonPath("$.data.firstId").value(1))
+                .andExpect(jsonPath("$.data.lastId").value(2))
+                .andReturn();
+
+        Number jobId = JsonPath.read(mvcResult.getResponse().getContentAsString(), "$.data.jobId");
+        awaitJob(jobId.longValue());
+
+        try {
+            mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/posts/jobs/{jobId}", jobId.longValue()))
+                    .andExpect(jsonPath("$.data.status").value("COMPLETED"))
+                    .andExpect(jsonPath("$.data.persisted").value(2))
+                    .andExpect(jsonPath("$.data.failed").value(0));
+        } finally {
+            postRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void testBatchJob_FailedPostHoldsCheckpoint() throws Exception {
+        postRepository.deleteAll();
+        // posts 1 and 2 are stored, post 3 answers 500
+        MvcResult mvcResult = mockMvc.perform(post("/api/v1/posts/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"postNumber\": 3}"))
+                .andExpect(status().isAccepted())
+                .andReturn();
+
+        Number jobId = JsonPath.read(mvcResult.getResponse().getContentAsString(), "$.data.jobId");
+        awaitJob(jobId.longValue());
+
+        try {
+            mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/posts/jobs/{jobId}", jobId.longValue()))
+                    .andExpect(jsonPath("$.data.status").value("FAILED"))
+                    .andExpect(jsonPath("$.data.checkpointId").value(2))
+                    .andExpect(jsonPath("$.data.persisted").value(2))
+                    .andExpect(jsonPath("$.data.failed").value(1));
+        } finally {
+            // a failed job would otherwise be resumed by every later application start
+            batchJobRepository.deleteById(jobId.longValue());
+            postRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void testBatchJob_NotFound() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/posts/jobs/{jobId}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+
+    @Test
+    @Sql(scripts = {"/db/clear-posts.sql", "/db/test-data.sql"})
+    @Sql(scripts = {"/db/clear-posts.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
     void testFetchRecord_FirstPage() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/posts/fetch_record")
                         .param("page", "1")
@@ -135,6 +250,154 @@ public class PostControllerTest {
 
 
 
+    @Test
+    @Sql(scripts = {"/db/clear-posts.sql", "/db/test-data.sql"})
+    @Sql(scripts = {"/db/clear-posts.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void testFetchRecord_WithoutBody() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/posts/fetch_record")
+                        .param("page", "1")
+                        .param("size", "2")
+                        .param("includeBody", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content.length()").value(2))
+                .andExpect(jsonPath("$.data.content[0].title").exists())
+                .andExpect(jsonPath("$.data.content[0].body").doesNotExist());
+    }
+
+    @Test
+    @Sql(scripts = {"/db/clear-posts.sql", "/db/test-data.sql"})
+    @Sql(scripts = {"/db/clear-posts.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void testFetchRecordSeek_FollowsCursor() throws Exception {
+        MvcResult firstPage = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/posts/fetch_record/seek")
+                        .param("size", "1")
+                        .param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.content.length()").value(1))
+                .andExpect(jsonPath("$.data.content[0].id").value(2))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andExpect(jsonPath("$.data.totalElements").value(2))
+                .andReturn();
+
+        String nextCursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.data.nextCursor");
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/posts/fetch_record/seek")
+                        .param("cursor", nextCursor)
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].id").value(1))
+                .andExpect(jsonPath("$.data.hasNext").value(false))
+                .andExpect(jsonPath("$.data.totalElements").doesNotExist());
+    }
+
+    @Test
+    void testFetchRecordSeek_InvalidCursor() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/posts/fetch_record/seek")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    @Sql(scripts = {"/db/test-data.sql"})
+    @Sql(scripts = {"/db/clear-posts.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void testSearch_RanksMatchingPosts() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/posts/search")
+                        .param("q", "second post")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.content[0].title").value("Second Test Post"));
+    }
+
+    @Test
+    void testSearch_BlankQuery() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/posts/search")
+                        .param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Sql(scripts = {"/db/test-data.sql"})
+    @Sql(scripts = {"/db/clear-posts.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void testExport_StreamsCsv() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/posts/export")
+                        .param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", startsWith("text/csv")))
+                .andExpect(content().string(startsWith("id,userId,title,body,createdAt,updatedAt")))
+                .andExpect(content().string(containsString("Second Test Post")));
+    }
+
+    @Test
+    @Sql(scripts = {"/db/test-data.sql"})
+    @Sql(scripts = {"/db/clear-posts.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void testExport_StreamsNdjson() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/posts/export")
+                        .param("format", "NDJSON"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", startsWith("application/x-ndjson")))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        Assertions.assertTrue(lines.length >= 2);
+        for (String line : lines) {
+            Assertions.assertTrue(line.startsWith("{\"id\":"), line);
+        }
+        Assertions.assertTrue(body.endsWith("}\n"));
+        Assertions.assertTrue(body.contains("\"title\":\"Second Test Post\""));
+    }
+
+    @Test
+    void testImport_NdjsonWithRejectedRecord() throws Exception {
+        String body = "{\"userId\":7,\"id\":9001,\"title\":\"Imported 1\",\"body\":\"Body\"}\n" +
+                "{\"userId\":7,\"id\":9002,\"title\":\"\",\"body\":\"Body\"}\n" +
+                "{\"userId\":7,\"id\":9003,\"title\":\"Imported 3\",\"body\":\"Body\"}\n";
+        mockMvc.perform(post("/api/v1/posts/import")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.received").value(3))
+                .andExpect(jsonPath("$.data.saved").value(2))
+                .andExpect(jsonPath("$.data.rejected").value(1))
+                .andExpect(jsonPath("$.data.errors.2").exists());
+        postRepository.deleteAll();
+    }
+
+    @Test
+    void testImport_DuplicateUnderFailPolicyIsReported() throws Exception {
+        String body = "{\"userId\":7,\"id\":9006,\"title\":\"Imported 6\",\"body\":\"Body\"}\n" +
+                "{\"userId\":7,\"id\":9006,\"title\":\"Imported 6 again\",\"body\":\"Body\"}\n";
+        mockMvc.perform(post("/api/v1/posts/import")
+                        .param("onConflict", "FAIL")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.received").value(2))
+                .andExpect(jsonPath("$.data.saved").value(0))
+                .andExpect(jsonPath("$.data.rejected").value(2))
+                .andExpect(jsonPath("$.data.errors.1").value(startsWith("Not stored")))
+                .andExpect(jsonPath("$.data.errors.2").exists());
+        postRepository.deleteAll();
+    }
+
+    @Test
+    void testImport_MalformedJsonArray() throws Exception {
+        mockMvc.perform(post("/api/v1/posts/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"userId\":7,\"id\":9004,\"title\":\"Imported 4\",\"body\":\"Body\"}, {\"userId\":"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.data.saved").value(1));
+        postRepository.deleteAll();
+    }
+
     @Test
     void testFetchRecord_InvalidPagination() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/posts/fetch_record")
@@ -154,5 +417,19 @@ public class PostControllerTest {
                 .andExpect(jsonPath("$.data.totalElements").value(0));
     }
 
-
+    /**
+     * Jobs run in the background; wait for one to finish so it cannot write into later tests
+     */
+    private void awaitJob(long jobId) throws Exception {
+        long deadline = System.currentTimeMillis() + 20_000;
+        String status;
+        do {
+            Thread.sleep(100);
+            MvcResult poll = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/posts/jobs/{jobId}", jobId))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.jobId").value(jobId))
+                    .andReturn();
+            status = JsonPath.read(poll.getResponse().getContentAsString(), "$.data.status");
+        } while (!"COMPLETED".equals(status) && !"FAILED".equals(status) && System.currentTimeMillis() < deadline);
+    }
 }
@@ -0,0 +1,52 @@
+package com.aspacelife.postbatch.repository;
+
+import com.aspacelife.postbatch.config.WireMockTestConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ContextConfiguration(classes = { WireMockTestConfig.class })
+public class PostRepositoryQueryPlanTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void userIdPage_SeeksUserIndexWithoutSort() {
+        String plan = queryPlan(new PostFilter(3, null, null), new PostSeek(null, 500));
+        assertThat(plan).contains("idx_posts_user_id_id").doesNotContain("TEMP B-TREE");
+    }
+
+    @Test
+    void userIdAndCreatedRangePage_SeeksUserIndexWithoutSort() {
+        String plan = queryPlan(new PostFilter(3, FROM, TO), null);
+        assertThat(plan).contains("idx_posts_user_id_id").doesNotContain("TEMP B-TREE");
+    }
+
+    @Test
+    void createdRangePage_SeeksCreatedIndexWithoutSort() {
+        String plan = queryPlan(new PostFilter(null, FROM, TO), new PostSeek(TO.minusDays(1), 500));
+        assertThat(plan).contains("idx_posts_created_at_id").doesNotContain("TEMP B-TREE");
+    }
+
+    private String queryPlan(PostFilter filter, PostSeek after) {
+        List<Object> args = new ArrayList<>();
+        String sql = PostRepositoryCustomImpl.pageSql(filter, after, args);
+        args.add(10);
+        List<String> details = jdbcTemplate.query("EXPLAIN QUERY PLAN " + sql,
+                (rs, rowNum) -> rs.getString("detail"), args.toArray());
+        return String.join("\n", details);
+    }
+}
@@ -0,0 +1,164 @@
+package com.aspacelife.postbatch.service.impl;
+
+import com.aspacelife.postbatch.dto.response.SyncResult;
+import com.aspacelife.postbatch.model.SyncState;
+import com.aspacelife.postbatch.repository.SyncStateRepository;
+import com.aspacelife.postbatch.service.PostSyncService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntBinaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PostSyncEngineTest {
+
+    private final StubSyncService syncService = new StubSyncService();
+    private final SyncState state = new SyncState();
+    private PostSyncEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        state.setId(SyncState.SINGLETON_ID);
+        state.setNextId(1);
+        state.setWindowSize(100);
+
+        SyncStateRepository syncStateRepository = mock(SyncStateRepository.class);
+        when(syncStateRepository.findById(SyncState.SINGLETON_ID)).thenReturn(Optional.of(state));
+        when(syncStateRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        engine = new PostSyncEngine(syncService, syncStateRepository, new ThreadPoolTaskScheduler(),
+                Schedulers.immediate(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(engine, "firstId", 1);
+        ReflectionTestUtils.setField(engine, "lastId", 0);
+        ReflectionTestUtils.setField(engine, "maxInFlight", 4);
+        ReflectionTestUtils.setField(engine, "resyncIntervalMinutes", 60L);
+        ReflectionTestUtils.setField(engine, "minWindow", 10);
+        ReflectionTestUtils.setField(engine, "maxWindow", 2000);
+        ReflectionTestUtils.setField(engine, "targetWindowMs", 5000L);
+    }
+
+    @Test
+    void fastWindow_GrowsWindowAndAdvances() {
+        syncService.outcome = (from, to) -> 0;
+
+        engine.tick();
+
+        assertThat(syncService.calls).containsExactly(List.of(1, 100));
+        assertThat(state.getWindowSize()).isEqualTo(2000);
+        assertThat(state.getNextId()).isEqualTo(101);
+        assertThat(state.getLapCompletedAt()).isNull();
+    }
+
+    @Test
+    void slowWindow_ShrinksWindow() {
+        ReflectionTestUtils.setField(engine, "targetWindowMs", 1L);
+        syncService.delayMs = 20;
+        syncService.outcome = (from, to) -> 0;
+
+        engine.tick();
+
+        assertThat(state.getWindowSize()).isBetween(10, 99);
+        assertThat(state.getNextId()).isEqualTo(101);
+    }
+
+    @Test
+    void mostlyFailedWindow_HalvesWindowAndRetriesSameIds() {
+        syncService.failed = 60;
+        syncService.outcome = (from, to) -> 0;
+
+        engine.tick();
+
+        assertThat(state.getWindowSize()).isEqualTo(50);
+        assertThat(state.getNextId()).isEqualTo(1);
+
+        engine.tick();
+
+        assertThat(syncService.calls).containsExactly(List.of(1, 100), List.of(1, 50));
+    }
+
+    @Test
+    void windowReachingLastId_CompletesLap() {
+        ReflectionTestUtils.setField(engine, "lastId", 150);
+        state.setNextId(101);
+        syncService.outcome = (from, to) -> 0;
+
+        engine.tick();
+
+        assertThat(syncService.calls).containsExactly(List.of(101, 150));
+        assertThat(state.getNextId()).isEqualTo(1);
+        assertThat(state.getLapCompletedAt()).isNotNull();
+
+        // a completed lap is left alone until the re-sync interval has passed
+        engine.tick();
+
+        assertThat(syncService.calls).hasSize(1);
+    }
+
+    @Test
+    void windowOfOnly404s_CompletesLapWithoutLastId() {
+        state.setNextId(501);
+        syncService.outcome = (from, to) -> to - from + 1;
+
+        engine.tick();
+
+        assertThat(state.getNextId()).isEqualTo(1);
+        assertThat(state.getLapCompletedAt()).isNotNull();
+    }
+
+    @Test
+    void windowWithSome404s_DoesNotCompleteLap() {
+        state.setNextId(501);
+        syncService.outcome = (from, to) -> to - from;
+
+        engine.tick();
+
+        assertThat(state.getNextId()).isEqualTo(601);
+        assertThat(state.getLapCompletedAt()).isNull();
+    }
+
+    /**
+     * Answers every window at once; outcome gives the number of missing posts per window
+     */
+    private static class StubSyncService implements PostSyncService {
+        private final List<List<Integer>> calls = new ArrayList<>();
+        private IntBinaryOperator outcome;
+        private int failed;
+        private long delayMs;
+
+        @Override
+        public Mono<SyncResult> sync(int firstId, int lastId) {
+            throw new AssertionError("the engine must pass its own limits");
+        }
+
+        @Override
+        public Mono<SyncResult> sync(int firstId, int lastId, int maxInFlight, Scheduler scheduler) {
+            calls.add(List.of(firstId, lastId));
+            int requested = lastId - firstId + 1;
+            int missing = outcome.applyAsInt(firstId, lastId);
+            int unchanged = requested - missing - Math.min(failed, requested - missing);
+            if (delayMs > 0) {
+                try {
+                    Thread.sleep(delayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return Mono.just(new SyncResult(requested, 0, unchanged, 0, 0, missing,
+                    Math.min(failed, requested - missing), Map.of()));
+        }
+    }
+}
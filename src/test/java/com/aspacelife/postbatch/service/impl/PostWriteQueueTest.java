@@ -0,0 +1,66 @@
+package com.aspacelife.postbatch.service.impl;
+
+import com.aspacelife.postbatch.config.ConflictPolicy;
+import com.aspacelife.postbatch.config.WireMockTestConfig;
+import com.aspacelife.postbatch.model.Post;
+import com.aspacelife.postbatch.repository.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// a long wait window so that requests submitted back to back land in the same group
+@SpringBootTest(properties = "batch.write.group.max-wait-ms=500")
+@ContextConfiguration(classes = { WireMockTestConfig.class })
+public class PostWriteQueueTest {
+
+    @Autowired
+    private PostWriteQueue postWriteQueue;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM posts WHERE external_id IN (9101, 9102)");
+    }
+
+    @Test
+    void failingWriteInGroup_OtherWritesAreRetriedAlone() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        List<Post> good = List.of(post(9101));
+        CompletableFuture<Integer> goodResult = postWriteQueue.submit(1, true, () -> {
+            runs.incrementAndGet();
+            return postRepository.bulkInsert(good, ConflictPolicy.FAIL);
+        });
+        // the same id twice violates the unique external id and fails the whole group
+        CompletableFuture<Integer> badResult = postWriteQueue.submit(List.of(post(9102), post(9102)), ConflictPolicy.FAIL);
+
+        assertThat(goodResult.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(badResult).failsWithin(10, TimeUnit.SECONDS);
+        assertThat(runs).hasValue(2);
+        assertThat(jdbcTemplate.queryForList("SELECT external_id FROM posts WHERE external_id IN (9101, 9102)", Integer.class))
+                .containsExactly(9101);
+    }
+
+    private static Post post(int externalId) {
+        Post post = new Post();
+        post.setUserId(1);
+        post.setTitle("Queued post " + externalId);
+        post.setBody("Queued body");
+        post.setExternalId(externalId);
+        return post;
+    }
+}